@@ -0,0 +1,54 @@
+#!/bin/bash
+# Run the suite work-stealing style on this machine: one coordinator JVM serves the scenario
+# queue and N worker JVMs pull scenarios until it is drained, then the worker reports are merged.
+# Usage: ./run-distributed.sh [worker count] [extra maven arguments...]
+# More workers can join while the run is in progress (on this or another machine, with
+# -Ddistributed.host pointing at the coordinator, an unused -Dtest.data.node.id and, when sharing
+# a checkout, their own report paths as in run_jvm below):
+#   mvn -B surefire:test -Ddistributed.mode=worker -Ddistributed.port=<port> -Dtest.data.node.id=<0-1023> ...
+
+WORKERS=${1:-2}
+shift
+PORT=${DISTRIBUTED_PORT:-7070}
+ROOT=target/distributed
+
+echo "Compiling tests..."
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt || exit 1
+rm -rf "$ROOT"
+mkdir -p "$ROOT/workers"
+
+run_jvm() {
+    local OUT=$1
+    shift
+    mkdir -p "$OUT"
+    mvn -B surefire:test \
+        -Ddistributed.port=$PORT \
+        -Dreport.path=$OUT/reports \
+        -Drun.results.path=target/run-results \
+        -Dallure.results.directory=$OUT/allure-results \
+        -Dcucumber.reports.path=$OUT \
+        -Dcucumber.junit.report=$OUT/surefire-reports/Cucumber.xml \
+        -Dsurefire.reportsDirectory=$OUT/surefire-reports \
+        "$@" > "$OUT.log" 2>&1
+}
+
+echo "Starting coordinator on port $PORT (log: $ROOT/coordinator.log)"
+run_jvm "$ROOT/coordinator" -Ddistributed.mode=coordinator -Dtest.data.node.id=0 "$@" &
+COORDINATOR=$!
+
+for ((i = 0; i < WORKERS; i++)); do
+    echo "Starting worker $i (log: $ROOT/workers/worker-$i.log)"
+    run_jvm "$ROOT/workers/worker-$i" -Ddistributed.mode=worker -Dtest.data.node.id=$((i + 1)) "$@" &
+    PIDS[$i]=$!
+done
+
+for ((i = 0; i < WORKERS; i++)); do
+    wait ${PIDS[$i]} || echo "Worker $i exited with failures"
+done
+STATUS=0
+wait $COORDINATOR || { echo "Coordinator reported failing scenarios"; STATUS=1; }
+
+echo "Merging worker reports..."
+java -cp "target/classes:$(cat target/classpath.txt)" com.automation.utils.ShardReportMerger "$ROOT/workers" "$ROOT/merged" || STATUS=1
+echo "Per-scenario results: $ROOT/coordinator/reports/coordinator_*.json; merged reports: $ROOT/merged"
+exit $STATUS
@@ -0,0 +1,43 @@
+#!/bin/bash
+# Run the suite as N parallel shards on this machine and merge their reports.
+# Usage: ./run-shards.sh [shard count] [extra maven arguments...]
+# On CI agents run one shard per agent with -Dshard.index/-Dshard.count, a distinct
+# -Dtest.data.node.id (0-1023) and the same output properties (report, Allure and Cucumber
+# paths, so no two shards write the same file), then run ShardReportMerger
+# over the collected shard directories.
+
+SHARDS=${1:-2}
+shift
+SHARD_ROOT=target/shards
+
+echo "Compiling tests..."
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt || exit 1
+rm -rf "$SHARD_ROOT"
+mkdir -p "$SHARD_ROOT"
+
+for ((i = 0; i < SHARDS; i++)); do
+    OUT=$SHARD_ROOT/shard-$i
+    mkdir -p "$OUT"
+    echo "Starting shard $i of $SHARDS (log: $OUT.log)"
+    mvn -B surefire:test \
+        -Dshard.index=$i -Dshard.count=$SHARDS \
+        -Dtest.data.node.id=$i \
+        -Dreport.path=$OUT/reports \
+        -Drun.results.path=target/run-results \
+        -Dallure.results.directory=$OUT/allure-results \
+        -Dcucumber.reports.path=$OUT \
+        -Dcucumber.junit.report=$OUT/surefire-reports/Cucumber.xml \
+        -Dsurefire.reportsDirectory=$OUT/surefire-reports \
+        "$@" > "$OUT.log" 2>&1 &
+    PIDS[$i]=$!
+done
+
+STATUS=0
+for ((i = 0; i < SHARDS; i++)); do
+    wait ${PIDS[$i]} || { echo "Shard $i failed"; STATUS=1; }
+done
+
+echo "Merging shard reports..."
+java -cp "target/classes:$(cat target/classpath.txt)" com.automation.utils.ShardReportMerger "$SHARD_ROOT" "$SHARD_ROOT/merged" || STATUS=1
+echo "Merged reports: $SHARD_ROOT/merged (Allure: mvn allure:report -Dallure.results.directory=$SHARD_ROOT/merged/allure-results)"
+exit $STATUS
@@ -0,0 +1,49 @@
+package com.automation.base;
+
+/**
+ * Raised when a request exceeds one of its timeout budgets
+ * Carries the phase that timed out, the budget and the measured elapsed time so that timeouts
+ * can be told apart from assertion failures and reported separately.
+ */
+public class ApiTimeoutException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public enum Phase { CONNECT, READ, RESPONSE }
+
+    private final Phase phase;
+    private final String method;
+    private final String path;
+    private final long budgetMillis;
+    private final long elapsedMillis;
+
+    public ApiTimeoutException(Phase phase, String method, String path, long budgetMillis, long elapsedMillis,
+                               Throwable cause) {
+        super(String.format("%s %s timed out in %s phase after %d ms (budget %d ms)",
+            method, path, phase, elapsedMillis, budgetMillis), cause);
+        this.phase = phase;
+        this.method = method;
+        this.path = path;
+        this.budgetMillis = budgetMillis;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
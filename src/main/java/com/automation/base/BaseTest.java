@@ -1,9 +1,11 @@
 package com.automation.base;
 
 import com.automation.config.ConfigManager;
+import com.automation.utils.AdaptiveConcurrencyLimiter;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.config.HttpClientConfig;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
@@ -14,41 +16,82 @@ import org.slf4j.LoggerFactory;
 /**
  * Base class for all API tests
  * Contains common setup and configuration for REST Assured
+ * The specifications are built once and shared by every instance until they are rebuilt or reset
  */
 public class BaseTest {
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
+    private static volatile Specifications sharedSpecifications;
     protected ConfigManager config = ConfigManager.getInstance();
     
     protected RequestSpecification requestSpec;
     protected ResponseSpecification responseSpec;
     
+    private record Specifications(RequestSpecification request, ResponseSpecification response) {
+    }
+    
+    /**
+     * Use the shared specifications, building them on first use
+     */
+    public void useSharedSpecifications() {
+        Specifications shared = sharedSpecifications;
+        if (shared == null) {
+            synchronized (BaseTest.class) {
+                shared = sharedSpecifications;
+                if (shared == null) {
+                    setupRestAssured();
+                    return;
+                }
+            }
+        }
+        requestSpec = shared.request();
+        responseSpec = shared.response();
+    }
+    
+    /**
+     * Build the specifications and make them the shared ones
+     */
     public void setupRestAssured() {
         // Set base URI
         RestAssured.baseURI = config.getBaseUrl();
+        // Client factory through which RequestTimeoutFilter can abort a request past its deadline
+        RestAssured.config = RestAssured.config().httpClient(
+            HttpClientConfig.httpClientConfig().httpClientFactory(RequestTimeoutFilter::createHttpClient));
         
         // Build request specification
         RequestSpecBuilder requestBuilder = new RequestSpecBuilder();
         requestBuilder.setContentType(ContentType.JSON);
         requestBuilder.addHeader("Accept", config.getAcceptHeader());
         requestBuilder.log(LogDetail.ALL);
+        // Queues requests beyond the adaptive concurrency limit
+        if (config.isConcurrencyLimiterEnabled()) {
+            requestBuilder.addFilter(new ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter.getInstance()));
+        }
+        // Per-endpoint latency for the performance steps and the api_latency report
+        requestBuilder.addFilter(new LatencyRecordingFilter());
+        // Enforces connect, read and total response deadlines, with per-endpoint overrides
+        requestBuilder.addFilter(new RequestTimeoutFilter());
+        // Reads and logs each response body once; large bodies go to a temp file
+        requestBuilder.addFilter(new ResponseSpillFilter(
+            config.getResponseSpillThresholdBytes(), config.getResponsePreviewChars()));
         
         requestSpec = requestBuilder.build();
         
-        // Build response specification
+        // Build response specification (response logging is done by ResponseSpillFilter)
         ResponseSpecBuilder responseBuilder = new ResponseSpecBuilder();
-        responseBuilder.log(LogDetail.ALL);
         
         responseSpec = responseBuilder.build();
         
         // Set default specifications
         RestAssured.requestSpecification = requestSpec;
         RestAssured.responseSpecification = responseSpec;
+        sharedSpecifications = new Specifications(requestSpec, responseSpec);
         
         logger.info("RestAssured configured with base URI: {}", config.getBaseUrl());
     }
     
     public void resetRestAssured() {
         RestAssured.reset();
+        sharedSpecifications = null;
         logger.info("RestAssured configuration reset");
     }
     
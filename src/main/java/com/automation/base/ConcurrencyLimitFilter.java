@@ -0,0 +1,50 @@
+package com.automation.base;
+
+import com.automation.utils.AdaptiveConcurrencyLimiter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds each request until the shared {@link AdaptiveConcurrencyLimiter} grants a permit, and
+ * feeds its latency and outcome back so the limit follows what the target sustains
+ * <p>
+ * 5xx and 429 responses and failed exchanges (including timeouts) count as overload.
+ */
+public class ConcurrencyLimitFilter implements OrderedFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost, so time spent waiting for a permit is not charged to the response deadline
+        return HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        if (permit.queuedNanos() >= 1_000_000) {
+            logger.debug("{} {} waited {} ms for a permit (limit {})", requestSpec.getMethod(),
+                requestSpec.getUserDefinedPath(), permit.queuedNanos() / 1_000_000, limiter.getLimit());
+        }
+        boolean success = false;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            success = response.getStatusCode() < 500 && response.getStatusCode() != 429;
+            return response;
+        } finally {
+            limiter.release(permit, success);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.automation.base;
+
+import com.automation.utils.ApiLatencyStatistics;
+import com.automation.utils.ScenarioContext;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Times every exchange, including the body read, into the suite's and the current scenario's
+ * {@link ApiLatencyStatistics}; 4xx/5xx responses and failed exchanges count as errors
+ */
+public class LatencyRecordingFilter implements OrderedFilter {
+
+    @Override
+    public int getOrder() {
+        // Just inside ConcurrencyLimitFilter, so waiting for a permit is not counted as latency
+        return HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            success = response.getStatusCode() < 400;
+            return response;
+        } finally {
+            long end = System.nanoTime();
+            String method = requestSpec.getMethod();
+            String path = requestSpec.getUserDefinedPath();
+            ApiLatencyStatistics.getSuiteStatistics().record(method, path, start, end, success);
+            ScenarioContext.getLatencyStatistics().record(method, path, start, end, success);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.automation.base;
+
+import com.automation.config.ConfigManager;
+import com.automation.config.ConfigSnapshot;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.params.CoreConnectionPNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Applies connect, read and total response deadlines to every request
+ * <p>
+ * Connect and read (socket inactivity) timeouts are set on the HTTP client per request. The total
+ * response deadline, which also covers slowly trickling bodies, is enforced by a watchdog that shuts
+ * down the request's connection when it expires, so a hung endpoint releases its thread. Budgets can
+ * be overridden per endpoint with {@code http.timeout.endpoint.<path>=connect=..,read=..,response=..},
+ * where {@code {param}} segments in the path match any value. Timeouts surface as
+ * {@link ApiTimeoutException} and are counted per phase.
+ */
+public class RequestTimeoutFilter implements OrderedFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimeoutFilter.class);
+    private static final String ENDPOINT_PREFIX = "http.timeout.endpoint.";
+    // RestAssured 5.4's HttpClientConfig only hands out the (deprecated) HttpClient 4 AbstractHttpClient
+    @SuppressWarnings("deprecation")
+    private static final ThreadLocal<AbstractHttpClient> lastCreatedClient = new ThreadLocal<>();
+    private static final Map<ApiTimeoutException.Phase, LongAdder> timeoutCounts = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "request-timeout-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private volatile CompiledOverrides overrides = new CompiledOverrides(null, List.of());
+
+    /**
+     * Connect, read and total response budgets in milliseconds; 0 means no limit
+     */
+    public record TimeoutBudget(int connectMillis, int readMillis, int responseMillis) {
+    }
+
+    private record EndpointOverride(Pattern path, int specificity, TimeoutBudget budget) {
+    }
+
+    private record CompiledOverrides(ConfigSnapshot snapshot, List<EndpointOverride> endpoints) {
+    }
+
+    /**
+     * Client factory for RestAssured (see BaseTest) that lets the watchdog reach the connection
+     * of the current request; RestAssured creates the client on the request thread before the filters run
+     */
+    @SuppressWarnings("deprecation") // HttpClient 4 types required by HttpClientConfig, see lastCreatedClient
+    public static AbstractHttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient();
+        lastCreatedClient.set(client);
+        return client;
+    }
+
+    @Override
+    public int getOrder() {
+        // Outside ResponseSpillFilter, so the body read is inside the response deadline
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String path = requestSpec.getUserDefinedPath();
+        TimeoutBudget budget = budgetFor(path);
+
+        applyConnectionTimeouts(requestSpec, budget);
+
+        Runnable shutdownConnection = takeConnectionShutdown();
+        AtomicBoolean deadlineExpired = new AtomicBoolean();
+        ScheduledFuture<?> deadline = null;
+        if (budget.responseMillis() > 0) {
+            deadline = watchdog.schedule(() -> {
+                deadlineExpired.set(true);
+                if (shutdownConnection != null) {
+                    shutdownConnection.run();
+                }
+            }, budget.responseMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (deadlineExpired.get()) {
+                throw timeout(ApiTimeoutException.Phase.RESPONSE, method, path, budget.responseMillis(), start, null);
+            }
+            return response;
+        } catch (ApiTimeoutException e) {
+            throw e;
+        } catch (Exception e) {
+            // RestAssured rethrows the client's checked IOExceptions undeclared
+            if (deadlineExpired.get()) {
+                throw timeout(ApiTimeoutException.Phase.RESPONSE, method, path, budget.responseMillis(), start, e);
+            }
+            if (hasCause(e, ConnectTimeoutException.class)
+                || (hasCause(e, SocketTimeoutException.class) && causeMessage(e).contains("connect"))) {
+                throw timeout(ApiTimeoutException.Phase.CONNECT, method, path, budget.connectMillis(), start, e);
+            }
+            if (hasCause(e, SocketTimeoutException.class)) {
+                throw timeout(ApiTimeoutException.Phase.READ, method, path, budget.readMillis(), start, e);
+            }
+            throw e;
+        } finally {
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation") // HttpClient 4 parameter names read by HttpClientConfig
+    private static void applyConnectionTimeouts(FilterableRequestSpecification requestSpec, TimeoutBudget budget) {
+        RestAssuredConfig restAssuredConfig = requestSpec.getConfig() == null
+            ? RestAssuredConfig.config() : requestSpec.getConfig();
+        HttpClientConfig httpClientConfig = restAssuredConfig.getHttpClientConfig()
+            .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, budget.connectMillis())
+            .setParam(CoreConnectionPNames.SO_TIMEOUT, budget.readMillis());
+        requestSpec.config(restAssuredConfig.httpClient(httpClientConfig));
+    }
+
+    /**
+     * Action that shuts down the connection of the current request's client, or null if
+     * RestAssured reused a client created elsewhere
+     */
+    @SuppressWarnings("deprecation") // HttpClient 4 types, see lastCreatedClient
+    private static Runnable takeConnectionShutdown() {
+        AbstractHttpClient client = lastCreatedClient.get();
+        lastCreatedClient.remove();
+        return client == null ? null : () -> client.getConnectionManager().shutdown();
+    }
+
+    /**
+     * Number of timeouts per phase since the start of the run
+     */
+    public static Map<String, Long> getTimeoutCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ApiTimeoutException.Phase phase : ApiTimeoutException.Phase.values()) {
+            LongAdder count = timeoutCounts.get(phase);
+            counts.put(phase.name(), count == null ? 0 : count.sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Budget for a request path: the most specific matching endpoint override, else the defaults
+     */
+    TimeoutBudget budgetFor(String path) {
+        ConfigSnapshot snapshot = config.getSnapshot();
+        CompiledOverrides compiled = overrides;
+        if (compiled.snapshot() != snapshot) {
+            compiled = compile(snapshot);
+            overrides = compiled;
+        }
+        TimeoutBudget defaults = new TimeoutBudget(
+            config.getHttpConnectTimeoutMs(), config.getHttpReadTimeoutMs(), config.getHttpResponseTimeoutMs());
+        if (path == null) {
+            return defaults;
+        }
+        for (EndpointOverride override : compiled.endpoints()) {
+            if (override.path().matcher(path).matches()) {
+                return override.budget();
+            }
+        }
+        return defaults;
+    }
+
+    private CompiledOverrides compile(ConfigSnapshot snapshot) {
+        List<EndpointOverride> endpoints = new ArrayList<>();
+        snapshot.asMap().forEach((key, value) -> {
+            if (!key.startsWith(ENDPOINT_PREFIX)) {
+                return;
+            }
+            String template = key.substring(ENDPOINT_PREFIX.length());
+            Map<String, Integer> budget = new LinkedHashMap<>();
+            for (String part : value.split(",")) {
+                String[] pair = part.split("=", 2);
+                try {
+                    budget.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+                } catch (RuntimeException e) {
+                    logger.warn("Ignoring invalid timeout override '{}' for endpoint {}", part, template);
+                }
+            }
+            String regex = Pattern.quote(template).replaceAll("\\{[^/}]*}", "\\\\E[^/]+\\\\Q");
+            endpoints.add(new EndpointOverride(Pattern.compile(regex), template.replaceAll("\\{[^/}]*}", "").length(),
+                new TimeoutBudget(
+                    budget.getOrDefault("connect", config.getHttpConnectTimeoutMs()),
+                    budget.getOrDefault("read", config.getHttpReadTimeoutMs()),
+                    budget.getOrDefault("response", config.getHttpResponseTimeoutMs()))));
+        });
+        endpoints.sort(Comparator.comparingInt(EndpointOverride::specificity).reversed());
+        return new CompiledOverrides(snapshot, List.copyOf(endpoints));
+    }
+
+    private static ApiTimeoutException timeout(ApiTimeoutException.Phase phase, String method, String path,
+                                               long budgetMillis, long startNanos, Throwable cause) {
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        timeoutCounts.computeIfAbsent(phase, key -> new LongAdder()).increment();
+        ApiTimeoutException exception = new ApiTimeoutException(phase, method, path, budgetMillis, elapsedMillis, cause);
+        logger.error(exception.getMessage());
+        return exception;
+    }
+
+    private static boolean hasCause(Throwable throwable, Class<? extends Throwable> type) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String causeMessage(Throwable throwable) {
+        Throwable root = throwable;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return String.valueOf(root.getMessage()).toLowerCase();
+    }
+}
@@ -0,0 +1,223 @@
+package com.automation.base;
+
+import com.automation.utils.ScenarioContext;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Reads every response body once, as it arrives, and keeps it off the heap when it is large
+ * <p>
+ * Bodies up to the threshold are buffered as before. Larger bodies are streamed to a temporary
+ * file and the returned Response reads its body lazily from that file; archiving, reconciliation
+ * and error messages use {@link #openBody}, {@link #getSpillFile} and {@link #preview} so they never
+ * hold the whole payload. The filter also replaces the response spec's LogDetail.ALL logging: it
+ * logs the status line and a preview of at most response.preview.chars characters of the body, with
+ * the headers at debug level, and counts each exchange in the ScenarioContext. Spill files are
+ * deleted by {@link #deleteSpillFiles} at suite end.
+ */
+public class ResponseSpillFilter implements OrderedFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseSpillFilter.class);
+    private static final Map<Response, SpilledBody> spilledBodies = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Queue<Path> spillFiles = new ConcurrentLinkedQueue<>();
+
+    private final long thresholdBytes;
+    private final int previewChars;
+
+    /**
+     * @param thresholdBytes body size above which it is spilled to disk, 0 to always buffer
+     */
+    public ResponseSpillFilter(long thresholdBytes, int previewChars) {
+        this.thresholdBytes = thresholdBytes;
+        this.previewChars = previewChars;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        long requestBytes = bodySize(requestSpec.getBody());
+        if (thresholdBytes <= 0) {
+            long size = response.asByteArray().length;
+            log(requestSpec, response, size);
+            ScenarioContext.recordRequest(requestBytes, size);
+            return response;
+        }
+
+        try (InputStream body = response.asInputStream()) {
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            if (body != null) {
+                copy(body, head, thresholdBytes + 1);
+            }
+            if (head.size() <= thresholdBytes) {
+                Response buffered = new ResponseBuilder().clone(response).setBody(head.toByteArray()).build();
+                log(requestSpec, buffered, head.size());
+                ScenarioContext.recordRequest(requestBytes, head.size());
+                return buffered;
+            }
+
+            Path file = Files.createTempFile("response-", ".body");
+            spillFiles.add(file);
+            long size;
+            try (OutputStream out = Files.newOutputStream(file)) {
+                head.writeTo(out);
+                size = head.size() + copy(body, out, Long.MAX_VALUE);
+            }
+            Response spilled = new ResponseBuilder().clone(response).setBody(new LazyFileInputStream(file)).build();
+            spilledBodies.put(spilled, new SpilledBody(file, size));
+            logger.info("Response body of {} bytes spilled to {}", size, file);
+            ScenarioContext.recordRequest(requestBytes, size);
+            log(requestSpec, spilled, size);
+            return spilled;
+        } catch (IOException e) {
+            logger.error("Failed to read response body", e);
+            throw new RuntimeException("Response body read failed", e);
+        }
+    }
+
+    /**
+     * File holding the body of a spilled response, or null if the body is in memory
+     */
+    public static Path getSpillFile(Response response) {
+        SpilledBody body = spilledBodies.get(response);
+        return body == null ? null : body.file();
+    }
+
+    /**
+     * Open a fresh stream over the response body; spilled bodies are read from their file
+     */
+    public static InputStream openBody(Response response) {
+        Path file = getSpillFile(response);
+        if (file == null) {
+            return response.asInputStream();
+        }
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * At most maxChars of the body, with a note of the full size when truncated
+     */
+    public static String preview(Response response, int maxChars) {
+        SpilledBody spilled = spilledBodies.get(response);
+        if (spilled == null) {
+            String body = response.asString();
+            return body.length() <= maxChars ? body
+                : body.substring(0, maxChars) + String.format("... [truncated, %d chars]", body.length());
+        }
+        char[] chars = new char[maxChars];
+        int read = 0;
+        try (Reader reader = Files.newBufferedReader(spilled.file(), StandardCharsets.UTF_8)) {
+            for (int n; read < maxChars && (n = reader.read(chars, read, maxChars - read)) != -1; ) {
+                read += n;
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read preview from {}: {}", spilled.file(), e.getMessage());
+        }
+        return new String(chars, 0, read) + String.format("... [truncated, %d bytes in %s]", spilled.size(), spilled.file());
+    }
+
+    /**
+     * Delete every spill file created so far; called once at suite end
+     */
+    public static void deleteSpillFiles() {
+        for (Path file; (file = spillFiles.poll()) != null; ) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete spilled response body {}: {}", file, e.getMessage());
+            }
+        }
+        spilledBodies.clear();
+    }
+
+    private void log(FilterableRequestSpecification requestSpec, Response response, long size) {
+        logger.info("{} {} -> {} ({} bytes){}{}", requestSpec.getMethod(), requestSpec.getURI(),
+            response.getStatusLine(), size, System.lineSeparator(), preview(response, previewChars));
+        logger.debug("Response headers:{}{}", System.lineSeparator(), response.getHeaders());
+    }
+
+    private static long bodySize(Object body) {
+        if (body instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return body instanceof byte[] bytes ? bytes.length : 0;
+    }
+
+    private static long copy(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buffer = new byte[8192];
+        long copied = 0;
+        for (int n; copied < limit && (n = in.read(buffer, 0, (int) Math.min(buffer.length, limit - copied))) != -1; ) {
+            out.write(buffer, 0, n);
+            copied += n;
+        }
+        return copied;
+    }
+
+    private record SpilledBody(Path file, long size) {
+    }
+
+    /**
+     * Opens the spill file on first read so unread bodies hold no file handle
+     */
+    private static class LazyFileInputStream extends InputStream {
+        private final Path file;
+        private InputStream delegate;
+
+        LazyFileInputStream(Path file) {
+            this.file = file;
+        }
+
+        private InputStream delegate() throws IOException {
+            if (delegate == null) {
+                delegate = Files.newInputStream(file);
+            }
+            return delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate().read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+    }
+}
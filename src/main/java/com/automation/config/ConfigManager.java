@@ -3,70 +3,155 @@ package com.automation.config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Configuration Manager to handle all configuration properties
  * This class follows Singleton pattern to ensure single instance
+ * Values are read from an immutable {@link ConfigSnapshot}. With config.watch.enabled=true a
+ * daemon thread watches the properties file and atomically swaps in a new snapshot when it
+ * changes, so getters read on each request pick up tuned values without a restart.
  */
 public class ConfigManager {
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
-    private static ConfigManager instance;
-    private Properties properties;
+    private static volatile ConfigManager instance;
+    private volatile ConfigSnapshot snapshot;
+    private final Path configPath;
+    private final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
     
     private static final String DEFAULT_CONFIG_PATH = "src/test/resources/config/application.properties";
     
     private ConfigManager() {
-        loadProperties();
+        configPath = Paths.get(System.getProperty("config.path", DEFAULT_CONFIG_PATH));
+        snapshot = loadSnapshot();
+        if (getBooleanProperty("config.watch.enabled", false)) {
+            startWatcher();
+        }
     }
     
     public static ConfigManager getInstance() {
-        if (instance == null) {
+        ConfigManager current = instance;
+        if (current == null) {
             synchronized (ConfigManager.class) {
-                if (instance == null) {
-                    instance = new ConfigManager();
+                current = instance;
+                if (current == null) {
+                    current = new ConfigManager();
+                    instance = current;
                 }
             }
         }
-        return instance;
+        return current;
     }
     
-    private void loadProperties() {
-        properties = new Properties();
-        String configPath = System.getProperty("config.path", DEFAULT_CONFIG_PATH);
-        
-        try (FileInputStream fis = new FileInputStream(configPath)) {
+    private ConfigSnapshot loadSnapshot() {
+        Properties properties = new Properties();
+        try (FileInputStream fis = new FileInputStream(configPath.toFile())) {
             properties.load(fis);
             logger.info("Configuration loaded from: {}", configPath);
         } catch (IOException e) {
             logger.error("Failed to load configuration from: {}", configPath, e);
             throw new RuntimeException("Failed to load configuration", e);
         }
+        return new ConfigSnapshot(properties, System.getProperties());
+    }
+    
+    /**
+     * Re-read the properties file and swap in the new snapshot if anything changed
+     * A file that fails to load leaves the current snapshot in place
+     */
+    public void reload() {
+        ConfigSnapshot reloaded;
+        try {
+            reloaded = loadSnapshot();
+        } catch (RuntimeException e) {
+            logger.warn("Keeping previous configuration: {}", e.getMessage());
+            return;
+        }
+        if (reloaded.asMap().equals(snapshot.asMap())) {
+            return;
+        }
+        snapshot = reloaded;
+        logger.info("Configuration reloaded from: {}", configPath);
+        reloadListeners.forEach(listener -> listener.accept(reloaded));
+    }
+    
+    /**
+     * Be notified with the new snapshot after each reload
+     */
+    public void addReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
+    }
+    
+    /**
+     * Current snapshot; use it to read several related values consistently
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    private void startWatcher() {
+        Path directory = configPath.toAbsolutePath().getParent();
+        Path fileName = configPath.getFileName();
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            Thread watcher = new Thread(() -> watch(watchService, fileName), "config-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+            logger.info("Watching configuration file for changes: {}", configPath);
+        } catch (IOException e) {
+            logger.warn("Configuration hot reload disabled, cannot watch {}: {}", directory, e.getMessage());
+        }
+    }
+    
+    private void watch(WatchService watchService, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= fileName.equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    // Editors often write in several steps; let them finish before reading
+                    Thread.sleep(getIntProperty("config.watch.debounce.ms", 200));
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
     }
     
     public String getProperty(String key) {
-        return System.getProperty(key, properties.getProperty(key));
+        return snapshot.get(key);
     }
     
     public String getProperty(String key, String defaultValue) {
-        return System.getProperty(key, properties.getProperty(key, defaultValue));
+        return snapshot.get(key, defaultValue);
     }
     
     public int getIntProperty(String key, int defaultValue) {
-        String value = getProperty(key);
-        try {
-            return value != null ? Integer.parseInt(value) : defaultValue;
-        } catch (NumberFormatException e) {
-            logger.warn("Invalid integer value for key: {}, using default: {}", key, defaultValue);
-            return defaultValue;
-        }
+        return snapshot.getInt(key, defaultValue);
     }
     
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = getProperty(key);
-        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+        return snapshot.getBoolean(key, defaultValue);
     }
     
     // Environment Configuration
@@ -82,6 +167,18 @@ public class ConfigManager {
         return getIntProperty("timeout", 30000);
     }
     
+    public int getHttpConnectTimeoutMs() {
+        return getIntProperty("http.connect.timeout.ms", 10000);
+    }
+    
+    public int getHttpReadTimeoutMs() {
+        return getIntProperty("http.read.timeout.ms", getTimeout());
+    }
+    
+    public int getHttpResponseTimeoutMs() {
+        return getIntProperty("http.response.timeout.ms", getTimeout());
+    }
+    
     // Database Configuration
     public String getDbType() {
         return getProperty("db.type", "mysql");
@@ -111,6 +208,44 @@ public class ConfigManager {
         return getIntProperty("db.connection.pool.size", 10);
     }
     
+    public int getDbFetchSize() {
+        return getIntProperty("db.fetch.size", 1000);
+    }
+    
+    public long getDbSlowQueryThresholdMs() {
+        return getIntProperty("db.slow.query.threshold.ms", 500);
+    }
+    
+    public int getDbBulkBatchSize() {
+        return getIntProperty("db.bulk.batch.size", 1000);
+    }
+    
+    public int getDbBulkBufferSize() {
+        return getIntProperty("db.bulk.buffer.size", 65536);
+    }
+    
+    // Embedded (H2) Database Configuration
+    public String getDbEmbeddedMode() {
+        return getProperty("db.embedded.mode", "MySQL");
+    }
+    
+    public String getDbSchemaFile() {
+        return getProperty("db.schema.file", "db/schema.sql");
+    }
+    
+    public String getDbSeedFile() {
+        return getProperty("db.seed.file", "db/data.sql");
+    }
+    
+    // Reconciliation Configuration
+    public int getReconciliationBufferSize() {
+        return getIntProperty("reconciliation.buffer.size", 100000);
+    }
+    
+    public int getReconciliationMaxReportedDifferences() {
+        return getIntProperty("reconciliation.max.reported.differences", 50);
+    }
+    
     // Test Data Configuration
     public String getTestDataPath() {
         return getProperty("test.data.path", "src/test/resources/testdata");
@@ -120,6 +255,118 @@ public class ConfigManager {
         return getProperty("local.storage.path", "test-output");
     }
     
+    public int getTestDataCacheMaxRecords() {
+        return getIntProperty("test.data.cache.max.records", 10000);
+    }
+    
+    /**
+     * The configured test data seed, or null when none is set
+     *
+     * @throws IllegalArgumentException if test.data.seed is not a whole number
+     */
+    public Long getTestDataSeed() {
+        String seed = getProperty("test.data.seed", "").trim();
+        if (seed.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(seed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("test.data.seed must be a whole number: " + seed, e);
+        }
+    }
+    
+    public int getTestDataNodeId() {
+        return getIntProperty("test.data.node.id", -1);
+    }
+    
+    public int getDatasetThreads() {
+        return getIntProperty("test.data.generator.threads", 0);
+    }
+    
+    public int getDatasetChunkSize() {
+        return getIntProperty("test.data.generator.chunk.size", 1000);
+    }
+    
+    public int getDatasetMaxPostsPerUser() {
+        return getIntProperty("test.data.generator.max.posts.per.user", 10);
+    }
+    
+    // Async Storage Configuration
+    public boolean isAsyncStorageEnabled() {
+        return getBooleanProperty("storage.async.enabled", true);
+    }
+    
+    public int getAsyncStorageQueueCapacity() {
+        return getIntProperty("storage.async.queue.capacity", 10000);
+    }
+    
+    public int getAsyncStorageBatchSize() {
+        return getIntProperty("storage.async.batch.size", 512);
+    }
+    
+    public int getAsyncStorageOfferTimeoutMs() {
+        return getIntProperty("storage.async.offer.timeout.ms", 1000);
+    }
+    
+    public long getAsyncStorageSegmentMaxBytes() {
+        return getIntProperty("storage.async.segment.max.mb", 64) * 1024L * 1024L;
+    }
+    
+    public int getStorageCompressionLevel() {
+        return getIntProperty("storage.archive.compression.level", 6);
+    }
+    
+    public int getStorageRetentionDays() {
+        return getIntProperty("storage.retention.days", 7);
+    }
+    
+    // Storage Janitor Configuration
+    public boolean isStorageJanitorEnabled() {
+        return getBooleanProperty("storage.janitor.enabled", true);
+    }
+    
+    public long getStorageJanitorMaxTotalBytes() {
+        return getIntProperty("storage.janitor.max.total.mb", 0) * 1024L * 1024L;
+    }
+    
+    public int getStorageJanitorMaxFiles() {
+        return getIntProperty("storage.janitor.max.files", 0);
+    }
+    
+    public int getStorageJanitorIntervalSeconds() {
+        return getIntProperty("storage.janitor.interval.seconds", 60);
+    }
+    
+    public int getStorageJanitorBatchSize() {
+        return getIntProperty("storage.janitor.batch.size", 500);
+    }
+    
+    public String getStorageJanitorExcludedExtensions() {
+        return getProperty("storage.janitor.excluded.extensions", "seg,idx");
+    }
+    
+    // File Append Configuration
+    public String getAppendFlushPolicy() {
+        return getProperty("storage.append.flush.policy", "every");
+    }
+    
+    public String getAppendSyncPolicy() {
+        return getProperty("storage.append.sync.policy", "never");
+    }
+    
+    public int getAppendBufferBytes() {
+        return getIntProperty("storage.append.buffer.kb", 64) * 1024;
+    }
+    
+    public int getAppendMaxOpenFiles() {
+        return getIntProperty("storage.append.max.open.files", 64);
+    }
+    
+    public int getAppendFlushIntervalMs() {
+        return getIntProperty("storage.append.flush.interval.ms", 1000);
+    }
+    
     // API Configuration
     public String getApiVersion() {
         return getProperty("api.version", "v1");
@@ -133,6 +380,60 @@ public class ConfigManager {
         return getProperty("accept.header", "application/json");
     }
     
+    public long getResponseSpillThresholdBytes() {
+        return getIntProperty("response.spill.threshold.kb", 1024) * 1024L;
+    }
+    
+    public int getResponsePreviewChars() {
+        return getIntProperty("response.preview.chars", 2000);
+    }
+    
+    // Schema Validation Configuration
+    public String getSchemaPath() {
+        return getProperty("schema.path", "src/test/resources/schemas");
+    }
+    
+    public boolean isSchemaValidationEnabled() {
+        return getBooleanProperty("schema.validation.enabled", false);
+    }
+    
+    public int getSchemaParallelThreshold() {
+        return getIntProperty("schema.parallel.threshold", 64);
+    }
+    
+    public int getSchemaMaxReportedViolations() {
+        return getIntProperty("schema.max.reported.violations", 50);
+    }
+    
+    public boolean isJsonAssertFailFast() {
+        return getBooleanProperty("json.assert.fail.fast", false);
+    }
+    
+    public int getJsonAssertMaxReportedViolations() {
+        return getIntProperty("json.assert.max.reported.violations", 50);
+    }
+    
+    // Snapshot Configuration
+    public String getSnapshotPath() {
+        return getProperty("snapshot.path", "src/test/resources/snapshots");
+    }
+    
+    public String getSnapshotIgnoredFields() {
+        return getProperty("snapshot.ignored.fields", "id,createdAt,updatedAt");
+    }
+    
+    public boolean isSnapshotRecordMissing() {
+        return getBooleanProperty("snapshot.record.missing", false);
+    }
+    
+    public boolean isSnapshotUpdate() {
+        return getBooleanProperty("snapshot.update", false);
+    }
+    
+    public int getSnapshotMaxReportedDifferences() {
+        return getIntProperty("snapshot.max.reported.differences", 50);
+    }
+    
     // Retry Configuration
     public int getRetryCount() {
         return getIntProperty("retry.count", 3);
@@ -147,6 +448,18 @@ public class ConfigManager {
         return getProperty("report.path", "test-reports");
     }
     
+    public String getRunResultsPath() {
+        return getProperty("run.results.path", getReportPath() + File.separator + "run-results");
+    }
+    
+    public String getCucumberReportsPath() {
+        return getProperty("cucumber.reports.path", "target/cucumber-reports");
+    }
+    
+    public String getCucumberJunitReport() {
+        return getProperty("cucumber.junit.report", "target/surefire-reports/Cucumber.xml");
+    }
+    
     public String getScreenshotPath() {
         return getProperty("screenshot.path", "screenshots");
     }
@@ -168,4 +481,80 @@ public class ConfigManager {
     public int getThreadCount() {
         return getIntProperty("thread.count", 5);
     }
+    
+    public boolean isSchedulerEnabled() {
+        return getBooleanProperty("scheduler.enabled", true);
+    }
+    
+    public int getSchedulerHistoryRuns() {
+        return getIntProperty("scheduler.history.runs", 10);
+    }
+    
+    public int getShardIndex() {
+        return getIntProperty("shard.index", 0);
+    }
+    
+    public int getShardCount() {
+        return getIntProperty("shard.count", 1);
+    }
+    
+    public String getShardStrategy() {
+        return getProperty("shard.strategy", "hash");
+    }
+    
+    public String getDistributedMode() {
+        return getProperty("distributed.mode", "off");
+    }
+    
+    public String getDistributedHost() {
+        return getProperty("distributed.host", "127.0.0.1");
+    }
+    
+    public int getDistributedPort() {
+        return getIntProperty("distributed.port", 7070);
+    }
+    
+    public int getDistributedMaxAttempts() {
+        return getIntProperty("distributed.max.attempts", 2);
+    }
+    
+    public int getDistributedConnectTimeoutSeconds() {
+        return getIntProperty("distributed.connect.timeout.seconds", 60);
+    }
+    
+    public int getDistributedLeaseTimeoutMinutes() {
+        return getIntProperty("distributed.lease.timeout.minutes", 10);
+    }
+    
+    public int getDistributedTimeoutMinutes() {
+        return getIntProperty("distributed.timeout.minutes", 60);
+    }
+    
+    public boolean isConcurrencyLimiterEnabled() {
+        return getBooleanProperty("concurrency.limiter.enabled", false);
+    }
+    
+    public int getConcurrencyLimiterInitial() {
+        return getIntProperty("concurrency.limiter.initial", 4);
+    }
+    
+    public int getConcurrencyLimiterMin() {
+        return getIntProperty("concurrency.limiter.min", 1);
+    }
+    
+    public int getConcurrencyLimiterMax() {
+        return getIntProperty("concurrency.limiter.max", 64);
+    }
+    
+    public int getConcurrencyLimiterWindowSize() {
+        return getIntProperty("concurrency.limiter.window.size", 20);
+    }
+    
+    public int getConcurrencyLimiterLatencyTolerancePercent() {
+        return getIntProperty("concurrency.limiter.latency.tolerance.percent", 150);
+    }
+    
+    public int getConcurrencyLimiterBackoffPercent() {
+        return getIntProperty("concurrency.limiter.backoff.percent", 90);
+    }
 }
@@ -0,0 +1,77 @@
+package com.automation.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of the configuration at one point in time
+ * File properties are overlaid with JVM system properties once, when the snapshot is built.
+ * Numeric and boolean values are parsed on first use and memoized, one map per type, so
+ * repeated reads are a single lock-free map lookup. ConfigManager swaps in a new snapshot when the file is reloaded.
+ */
+public final class ConfigSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+    private static final Object MISSING = new Object();
+
+    private final Map<String, String> values;
+    private final long loadedAtMillis = System.currentTimeMillis();
+    private final Map<String, Object> parsedInts = new ConcurrentHashMap<>();
+    private final Map<String, Object> parsedBooleans = new ConcurrentHashMap<>();
+
+    ConfigSnapshot(Properties fileProperties, Properties systemProperties) {
+        Map<String, String> merged = new HashMap<>();
+        fileProperties.stringPropertyNames().forEach(key -> merged.put(key, fileProperties.getProperty(key)));
+        systemProperties.stringPropertyNames().forEach(key -> merged.put(key, systemProperties.getProperty(key)));
+        this.values = Map.copyOf(merged);
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Object parsed = parsedInts.computeIfAbsent(key, this::parseInt);
+        return parsed instanceof Integer value ? value : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Object parsed = parsedBooleans.computeIfAbsent(key, k -> {
+            String value = values.get(k);
+            return value != null ? Boolean.valueOf(value) : MISSING;
+        });
+        return parsed instanceof Boolean value ? value : defaultValue;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    /**
+     * All resolved values, including system property overrides
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    private Object parseInt(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            return MISSING;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer value for key: {}, using default", key);
+            return MISSING;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.automation.database;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Streams POJOs such as User and Post into a database table using the driver's native bulk path
+ * <ul>
+ *   <li>PostgreSQL: {@code COPY ... FROM STDIN} through the CopyManager API</li>
+ *   <li>MySQL: {@code LOAD DATA LOCAL INFILE} fed from an in-process stream, on a dedicated
+ *   connection that is the only one allowed to send local data</li>
+ *   <li>Anything else (e.g. embedded H2): batched prepared INSERTs</li>
+ * </ul>
+ * Columns are derived from the POJO's Jackson properties ({@code @JsonProperty} names translated to
+ * snake_case) and limited to scalar properties that exist in the target table. Rows are encoded as
+ * CSV lazily while the driver reads, so memory use does not grow with the number of records.
+ */
+public class BulkLoader {
+    private static final Logger logger = LoggerFactory.getLogger(BulkLoader.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DatabaseManager dbManager;
+    private final ConfigManager config = ConfigManager.getInstance();
+
+    public BulkLoader(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Load a stream of POJOs into a table
+     *
+     * @return number of rows loaded
+     */
+    public <T> long load(String tableName, Class<T> type, Stream<T> records) {
+        try (records) {
+            return load(tableName, type, records.iterator());
+        }
+    }
+
+    /**
+     * Load POJOs from a JSON fixture file, streaming the array without reading the whole file.
+     * When {@code arrayField} is null the file itself must be a JSON array, otherwise the array
+     * is taken from that top-level field (e.g. "users" in user_test_data.json).
+     */
+    public <T> long loadJson(String tableName, Class<T> type, Path jsonFile, String arrayField) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonFile.toFile())) {
+            positionAtArray(parser, arrayField, jsonFile);
+            parser.nextToken();
+            try (MappingIterator<T> records = objectMapper.readValues(parser, type)) {
+                return load(tableName, type, records);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read fixture file: {}", jsonFile, e);
+            throw new RuntimeException("Fixture load failed", e);
+        }
+    }
+
+    /**
+     * Load POJOs from an iterator into a table
+     *
+     * @return number of rows loaded
+     */
+    public <T> long load(String tableName, Class<T> type, Iterator<T> records) {
+        Connection connection = dbManager.getConnection();
+        String dbType = config.getDbType().toLowerCase(Locale.ROOT);
+
+        try {
+            List<ColumnMapping> columns = resolveColumns(connection, tableName, type);
+            String columnList = String.join(", ", columns.stream().map(ColumnMapping::column).toList());
+
+            long startTime = System.nanoTime();
+            String statement;
+            long rows;
+            switch (dbType) {
+                case "postgresql" -> {
+                    statement = String.format("COPY %s (%s) FROM STDIN WITH (FORMAT csv)", tableName, columnList);
+                    rows = copyIn(connection, statement, new CsvRowInputStream<>(records, columns, ""));
+                }
+                case "mysql" -> {
+                    statement = String.format(
+                        "LOAD DATA LOCAL INFILE 'stream' INTO TABLE %s CHARACTER SET utf8mb4 "
+                            + "FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '' "
+                            + "LINES TERMINATED BY '\\n' (%s)", tableName, columnList);
+                    try (Connection localInfile = dbManager.openLocalInfileConnection()) {
+                        rows = loadDataLocalInfile(localInfile, statement,
+                            new CsvRowInputStream<>(records, columns, "NULL"));
+                    }
+                }
+                default -> {
+                    statement = String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, columnList,
+                        String.join(", ", columns.stream().map(c -> "?").toList()));
+                    rows = batchInsert(connection, statement, records, columns);
+                }
+            }
+            long elapsedNanos = System.nanoTime() - startTime;
+            dbManager.getQueryStatistics().record(statement, elapsedNanos, 0, rows);
+
+            logger.info("Bulk loaded {} {} rows into {} in {} ms", rows, type.getSimpleName(), tableName,
+                String.format("%.1f", elapsedNanos / 1_000_000.0));
+            return rows;
+        } catch (SQLException | IOException e) {
+            logger.error("Bulk load into {} failed", tableName, e);
+            throw new RuntimeException("Bulk load failed", e);
+        }
+    }
+
+    private long copyIn(Connection connection, String statement, InputStream csv) throws SQLException, IOException {
+        return connection.unwrap(PGConnection.class)
+            .getCopyAPI()
+            .copyIn(statement, csv, config.getDbBulkBufferSize());
+    }
+
+    private long loadDataLocalInfile(Connection connection, String statement, InputStream csv) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.unwrap(JdbcStatement.class).setLocalInfileInputStream(csv);
+            return stmt.executeLargeUpdate(statement);
+        }
+    }
+
+    private <T> long batchInsert(Connection connection, String statement, Iterator<T> records,
+                                 List<ColumnMapping> columns) throws SQLException {
+        int batchSize = config.getDbBulkBatchSize();
+        // Only run our own transaction when the caller has none open; otherwise commit is theirs
+        boolean ownTransaction = connection.getAutoCommit();
+        long rows = 0;
+
+        if (ownTransaction) {
+            connection.setAutoCommit(false);
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(statement)) {
+            int pending = 0;
+            while (records.hasNext()) {
+                T record = records.next();
+                for (int i = 0; i < columns.size(); i++) {
+                    stmt.setObject(i + 1, columns.get(i).accessor().getValue(record));
+                }
+                stmt.addBatch();
+                if (++pending == batchSize) {
+                    stmt.executeBatch();
+                    rows += pending;
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+                rows += pending;
+            }
+            if (ownTransaction) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            if (ownTransaction) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            if (ownTransaction) {
+                connection.setAutoCommit(true);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Map the POJO's scalar Jackson properties onto the table's columns
+     */
+    private List<ColumnMapping> resolveColumns(Connection connection, String tableName, Class<?> type)
+            throws SQLException {
+        Set<String> tableColumns = readTableColumns(connection, tableName);
+        BeanDescription description = objectMapper.getSerializationConfig()
+            .introspect(objectMapper.constructType(type));
+
+        List<ColumnMapping> columns = new ArrayList<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            AnnotatedMember accessor = property.getAccessor();
+            if (accessor == null || !isScalar(property.getRawPrimaryType())) {
+                logger.debug("Skipping non-scalar property {}.{}", type.getSimpleName(), property.getName());
+                continue;
+            }
+            String column = PropertyNamingStrategies.SnakeCaseStrategy.INSTANCE.translate(property.getName());
+            if (!tableColumns.isEmpty() && !tableColumns.contains(column)) {
+                logger.debug("Skipping property {}.{}: no column {} in {}",
+                    type.getSimpleName(), property.getName(), column, tableName);
+                continue;
+            }
+            accessor.fixAccess(true);
+            columns.add(new ColumnMapping(column, accessor));
+        }
+
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException(
+                "No properties of " + type.getSimpleName() + " map to columns of " + tableName);
+        }
+        return columns;
+    }
+
+    private Set<String> readTableColumns(Connection connection, String tableName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> columns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String candidate : List.of(tableName, tableName.toLowerCase(Locale.ROOT), tableName.toUpperCase(Locale.ROOT))) {
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null, candidate, null)) {
+                while (rs.next()) {
+                    columns.add(rs.getString("COLUMN_NAME"));
+                }
+            }
+            if (!columns.isEmpty()) {
+                break;
+            }
+        }
+        return columns;
+    }
+
+    private static boolean isScalar(Class<?> type) {
+        return type.isPrimitive()
+            || Number.class.isAssignableFrom(type)
+            || CharSequence.class.isAssignableFrom(type)
+            || Boolean.class == type
+            || Character.class == type
+            || type.isEnum()
+            || TemporalAccessor.class.isAssignableFrom(type)
+            || Date.class.isAssignableFrom(type);
+    }
+
+    private static void positionAtArray(JsonParser parser, String arrayField, Path jsonFile) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (arrayField == null) {
+            if (token != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Fixture is not a JSON array: " + jsonFile);
+            }
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Fixture is not a JSON object: " + jsonFile);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (arrayField.equals(name) && value == JsonToken.START_ARRAY) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IllegalArgumentException("Fixture has no array field '" + arrayField + "': " + jsonFile);
+    }
+
+    private record ColumnMapping(String column, AnnotatedMember accessor) {
+    }
+
+    /**
+     * Encodes records as CSV rows on demand while the driver reads.
+     * Non-null values are always quoted with embedded quotes doubled; null is written as the
+     * dialect's unquoted null marker (empty for PostgreSQL, NULL for MySQL).
+     */
+    private static class CsvRowInputStream<T> extends InputStream {
+        private final Iterator<T> records;
+        private final List<ColumnMapping> columns;
+        private final String nullMarker;
+        private final StringBuilder line = new StringBuilder(256);
+        private byte[] current = new byte[0];
+        private int position;
+
+        CsvRowInputStream(Iterator<T> records, List<ColumnMapping> columns, String nullMarker) {
+            this.records = records;
+            this.columns = columns;
+            this.nullMarker = nullMarker;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return current[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int written = 0;
+            while (written < length && fill()) {
+                int chunk = Math.min(length - written, current.length - position);
+                System.arraycopy(current, position, buffer, offset + written, chunk);
+                position += chunk;
+                written += chunk;
+            }
+            return written == 0 ? -1 : written;
+        }
+
+        private boolean fill() {
+            if (position < current.length) {
+                return true;
+            }
+            if (!records.hasNext()) {
+                return false;
+            }
+            encode(records.next());
+            return true;
+        }
+
+        private void encode(T record) {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                Object value = columns.get(i).accessor().getValue(record);
+                if (value == null) {
+                    line.append(nullMarker);
+                } else {
+                    String text = value instanceof Boolean b ? (b ? "1" : "0") : value.toString();
+                    line.append('"').append(text.replace("\"", "\"\"")).append('"');
+                }
+            }
+            line.append('\n');
+            current = line.toString().getBytes(StandardCharsets.UTF_8);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.automation.database;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Reconciles an API collection against a database table in bulk
+ * <p>
+ * The API side is read as a streamed JSON array and projected to the compared fields only.
+ * It is sorted by key in bounded chunks which spill to temporary files when they exceed
+ * {@code reconciliation.buffer.size}, then k-way merged. The database side is streamed with
+ * {@link DatabaseManager#streamQuery} and must be ordered by the same key, so both sides meet
+ * in a single sort-merge pass with memory bounded by the buffer size regardless of row count.
+ */
+public class DataReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(DataReconciler.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DatabaseManager dbManager;
+    private final String keyField;
+    private final List<String> fields;
+    private final int bufferSize;
+    private final int maxReportedDifferences;
+
+    public DataReconciler(DatabaseManager dbManager, String keyField, List<String> fields) {
+        ConfigManager config = ConfigManager.getInstance();
+        this.dbManager = dbManager;
+        this.keyField = keyField;
+        this.fields = List.copyOf(fields);
+        this.bufferSize = config.getReconciliationBufferSize();
+        this.maxReportedDifferences = config.getReconciliationMaxReportedDifferences();
+    }
+
+    /**
+     * Reconcile a JSON array of API records against a database table.
+     * The query runs as {@code SELECT key, fields... FROM table ORDER BY key}.
+     */
+    public ReconciliationReport reconcile(InputStream apiJsonArray, String tableName) {
+        String query = String.format("SELECT %s, %s FROM %s ORDER BY %s",
+            keyField, String.join(", ", fields), tableName, keyField);
+        return reconcile(apiJsonArray, query, new Object[0]);
+    }
+
+    /**
+     * Reconcile a JSON array of API records against an arbitrary query.
+     * The query must return the key column and every compared field, ordered ascending by key.
+     */
+    public ReconciliationReport reconcile(InputStream apiJsonArray, String query, Object... parameters) {
+        ReconciliationReport report = new ReconciliationReport(maxReportedDifferences);
+        List<Path> spillFiles = new ArrayList<>();
+        SortedRecordIterator apiRecords = null;
+
+        try {
+            apiRecords = sortApiRecords(apiJsonArray, report, spillFiles);
+            DatabaseSide databaseSide = new DatabaseSide(apiRecords, report);
+
+            dbManager.streamQuery(query, databaseSide::accept, parameters);
+
+            // Whatever is left on the API side has no database counterpart
+            while (apiRecords.hasNext()) {
+                databaseSide.consumeApi().ifMissing(report);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to reconcile API records with database", e);
+            throw new RuntimeException("Reconciliation failed", e);
+        } finally {
+            if (apiRecords != null) {
+                apiRecords.close();
+            }
+            for (Path spillFile : spillFiles) {
+                try {
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete reconciliation spill file: {}", spillFile);
+                }
+            }
+        }
+
+        logger.info("Reconciliation completed: {}", report.summary());
+        return report;
+    }
+
+    /**
+     * Read the API array, projecting every element to a compact record, and sort it in bounded runs
+     */
+    private SortedRecordIterator sortApiRecords(InputStream apiJsonArray, ReconciliationReport report,
+                                                List<Path> spillFiles) throws IOException {
+        List<CompactRecord> buffer = new ArrayList<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(apiJsonArray)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("API response is not a JSON array");
+            }
+            for (JsonToken token; (token = parser.nextToken()) != JsonToken.END_ARRAY; ) {
+                // Stopping early would report a partial reconciliation as complete
+                if (token == null) {
+                    throw new IllegalArgumentException("API response ended inside its JSON array after "
+                        + report.getApiRecords() + " records");
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("API array element " + report.getApiRecords()
+                        + " is not a JSON object: " + token);
+                }
+                JsonNode node = parser.readValueAsTree();
+                buffer.add(projectApiRecord(node));
+                report.recordApiRecord();
+
+                if (buffer.size() >= bufferSize) {
+                    spillFiles.add(spill(buffer));
+                    buffer.clear();
+                }
+            }
+        }
+
+        buffer.sort(CompactRecord.BY_KEY);
+        if (spillFiles.isEmpty()) {
+            return new SortedRecordIterator(List.of(new InMemoryRun(buffer.iterator())));
+        }
+
+        List<RunCursor> runs = new ArrayList<>();
+        for (Path spillFile : spillFiles) {
+            runs.add(new SpillRun(Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)));
+        }
+        runs.add(new InMemoryRun(buffer.iterator()));
+        logger.info("API records exceeded buffer of {}; merging {} sorted runs", bufferSize, runs.size());
+        return new SortedRecordIterator(runs);
+    }
+
+    private Path spill(List<CompactRecord> buffer) throws IOException {
+        buffer.sort(CompactRecord.BY_KEY);
+        Path spillFile = Files.createTempFile("reconciliation_", ".jsonl");
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8)) {
+            for (CompactRecord record : buffer) {
+                writer.write(objectMapper.writeValueAsString(record.toArray()));
+                writer.newLine();
+            }
+        }
+        logger.debug("Spilled {} sorted API records to {}", buffer.size(), spillFile);
+        return spillFile;
+    }
+
+    private CompactRecord projectApiRecord(JsonNode node) {
+        JsonNode keyNode = node.get(keyField);
+        if (keyNode == null || !keyNode.canConvertToLong()) {
+            throw new IllegalArgumentException("API record has no numeric '" + keyField + "': " + node);
+        }
+        String[] values = new String[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = normalize(node.get(fields.get(i)));
+        }
+        return new CompactRecord(keyNode.asLong(), values);
+    }
+
+    private static String normalize(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            return node.decimalValue().stripTrailingZeros().toPlainString();
+        }
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+
+    private static String normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Merge step driven by the database cursor
+     */
+    private class DatabaseSide {
+        private final SortedRecordIterator apiRecords;
+        private final ReconciliationReport report;
+        private String[] columnLabels;
+        private Long previousDatabaseKey;
+        private Long previousApiKey;
+
+        DatabaseSide(SortedRecordIterator apiRecords, ReconciliationReport report) {
+            this.apiRecords = apiRecords;
+            this.report = report;
+        }
+
+        void accept(Map<String, Object> row) {
+            if (columnLabels == null) {
+                columnLabels = resolveColumnLabels(row);
+            }
+            report.recordDatabaseRecord();
+
+            long dbKey = ((Number) row.get(columnLabels[0])).longValue();
+            if (previousDatabaseKey != null) {
+                if (dbKey < previousDatabaseKey) {
+                    throw new IllegalStateException("Database rows must be ordered by " + keyField);
+                }
+                if (dbKey == previousDatabaseKey) {
+                    report.recordDuplicateKey("database", dbKey);
+                    return;
+                }
+            }
+            previousDatabaseKey = dbKey;
+
+            while (apiRecords.hasNext() && apiRecords.peek().key < dbKey) {
+                consumeApi().ifMissing(report);
+            }
+
+            if (apiRecords.hasNext() && apiRecords.peek().key == dbKey) {
+                CompactRecord apiRecord = consumeApi().record;
+                if (apiRecord != null) {
+                    compare(apiRecord, row);
+                }
+            } else {
+                report.recordExtraInDatabase(dbKey);
+            }
+        }
+
+        /**
+         * Advance the API side, collapsing duplicate keys
+         */
+        ApiStep consumeApi() {
+            CompactRecord record = apiRecords.next();
+            if (previousApiKey != null && previousApiKey == record.key) {
+                report.recordDuplicateKey("API", record.key);
+                return new ApiStep(null);
+            }
+            previousApiKey = record.key;
+            return new ApiStep(record);
+        }
+
+        private void compare(CompactRecord apiRecord, Map<String, Object> row) {
+            boolean matched = true;
+            for (int i = 0; i < fields.size(); i++) {
+                String dbValue = normalize(row.get(columnLabels[i + 1]));
+                String apiValue = apiRecord.values[i];
+                if (apiValue == null ? dbValue != null : !apiValue.equals(dbValue)) {
+                    report.recordFieldMismatch(apiRecord.key, fields.get(i), apiValue, dbValue);
+                    matched = false;
+                }
+            }
+            if (matched) {
+                report.recordMatch();
+            }
+        }
+
+        /**
+         * Map the configured field names onto the labels the driver returned, ignoring case
+         */
+        private String[] resolveColumnLabels(Map<String, Object> row) {
+            String[] labels = new String[fields.size() + 1];
+            for (int i = 0; i < labels.length; i++) {
+                String field = i == 0 ? keyField : fields.get(i - 1);
+                for (String label : row.keySet()) {
+                    if (label.equalsIgnoreCase(field)) {
+                        labels[i] = label;
+                        break;
+                    }
+                }
+                if (labels[i] == null) {
+                    throw new IllegalArgumentException("Query result has no column for field: " + field);
+                }
+            }
+            return labels;
+        }
+    }
+
+    private record ApiStep(CompactRecord record) {
+        void ifMissing(ReconciliationReport report) {
+            if (record != null) {
+                report.recordMissingInDatabase(record.key);
+            }
+        }
+    }
+
+    /**
+     * Key plus normalized field values of one API record
+     */
+    private record CompactRecord(long key, String[] values) {
+        static final Comparator<CompactRecord> BY_KEY = Comparator.comparingLong(CompactRecord::key);
+
+        Object[] toArray() {
+            Object[] array = new Object[values.length + 1];
+            array[0] = key;
+            System.arraycopy(values, 0, array, 1, values.length);
+            return array;
+        }
+
+        static CompactRecord fromArray(JsonNode array) {
+            String[] values = new String[array.size() - 1];
+            for (int i = 0; i < values.length; i++) {
+                JsonNode value = array.get(i + 1);
+                values[i] = value.isNull() ? null : value.asText();
+            }
+            return new CompactRecord(array.get(0).asLong(), values);
+        }
+    }
+
+    private interface RunCursor extends Iterator<CompactRecord> {
+        default void close() throws IOException {
+        }
+    }
+
+    private static class InMemoryRun implements RunCursor {
+        private final Iterator<CompactRecord> delegate;
+
+        InMemoryRun(Iterator<CompactRecord> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public CompactRecord next() {
+            return delegate.next();
+        }
+    }
+
+    private static class SpillRun implements RunCursor {
+        private final BufferedReader reader;
+        private String nextLine;
+
+        SpillRun(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            this.nextLine = reader.readLine();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLine != null;
+        }
+
+        @Override
+        public CompactRecord next() {
+            if (nextLine == null) {
+                throw new NoSuchElementException();
+            }
+            try {
+                CompactRecord record = CompactRecord.fromArray(objectMapper.readTree(nextLine));
+                nextLine = reader.readLine();
+                return record;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read reconciliation spill file", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * K-way merge over sorted runs with one-record lookahead
+     */
+    private static class SortedRecordIterator {
+        private final List<RunCursor> runs;
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(h -> h.record.key));
+
+        private record Head(CompactRecord record, RunCursor run) {
+        }
+
+        SortedRecordIterator(List<RunCursor> runs) {
+            this.runs = runs;
+            for (RunCursor run : runs) {
+                if (run.hasNext()) {
+                    heads.add(new Head(run.next(), run));
+                }
+            }
+        }
+
+        boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        CompactRecord peek() {
+            return heads.peek().record;
+        }
+
+        CompactRecord next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.run.hasNext()) {
+                heads.add(new Head(head.run.next(), head.run));
+            }
+            return head.record;
+        }
+
+        void close() {
+            for (RunCursor run : runs) {
+                try {
+                    run.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close reconciliation run: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -4,21 +4,28 @@ import com.automation.config.ConfigManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Database Manager to handle database connections and operations
- * Supports MySQL and PostgreSQL databases
+ * Supports MySQL, PostgreSQL and an embedded in-memory H2 database
  */
 public class DatabaseManager {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
     private static DatabaseManager instance;
     private ConfigManager config = ConfigManager.getInstance();
     private Connection connection;
+    private static boolean embeddedBootstrapped;
+    private final QueryStatistics queryStatistics = new QueryStatistics(config.getDbSlowQueryThresholdMs());
     
     private DatabaseManager() {
         // Private constructor for singleton
@@ -49,6 +56,10 @@ public class DatabaseManager {
                 config.getDbPassword()
             );
             
+            if ("h2".equals(dbType)) {
+                bootstrapEmbeddedDatabase();
+            }
+            
             logger.info("Database connection established: {}", dbType);
         } catch (SQLException e) {
             logger.error("Failed to establish database connection", e);
@@ -73,10 +84,42 @@ public class DatabaseManager {
                 "jdbc:postgresql://%s:%d/%s",
                 host, port, dbName
             );
+            case "h2" -> String.format(
+                "jdbc:h2:mem:%s;MODE=%s;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                dbName, config.getDbEmbeddedMode()
+            );
             default -> throw new IllegalArgumentException("Unsupported database type: " + dbType);
         };
     }
     
+    /**
+     * Create schema and load seed data into the embedded database.
+     * Runs once per JVM; the in-memory database outlives individual connections.
+     */
+    private void bootstrapEmbeddedDatabase() throws SQLException {
+        synchronized (DatabaseManager.class) {
+            if (embeddedBootstrapped) {
+                return;
+            }
+            
+            Path schemaFile = Paths.get(config.getTestDataPath(), config.getDbSchemaFile());
+            Path seedFile = Paths.get(config.getTestDataPath(), config.getDbSeedFile());
+            
+            try (Statement stmt = connection.createStatement()) {
+                for (Path script : List.of(schemaFile, seedFile)) {
+                    if (Files.exists(script)) {
+                        stmt.execute("RUNSCRIPT FROM '" + script.toAbsolutePath().toString().replace("'", "''") + "'");
+                        logger.info("Embedded database script executed: {}", script);
+                    } else {
+                        logger.warn("Embedded database script not found, skipping: {}", script);
+                    }
+                }
+            }
+            
+            embeddedBootstrapped = true;
+        }
+    }
+    
     /**
      * Execute SELECT query and return results as List of Maps
      */
@@ -86,7 +129,10 @@ public class DatabaseManager {
         try (PreparedStatement stmt = connection.prepareStatement(query)) {
             setParameters(stmt, parameters);
             
+            long startTime = System.nanoTime();
+            long executeNanos;
             try (ResultSet rs = stmt.executeQuery()) {
+                executeNanos = System.nanoTime() - startTime;
                 ResultSetMetaData metaData = rs.getMetaData();
                 int columnCount = metaData.getColumnCount();
                 
@@ -98,8 +144,11 @@ public class DatabaseManager {
                     results.add(row);
                 }
             }
+            long fetchNanos = System.nanoTime() - startTime - executeNanos;
+            queryStatistics.record(query, executeNanos, fetchNanos, results.size());
             
-            logger.info("Query executed successfully. Returned {} rows", results.size());
+            logger.info("Query executed successfully. Returned {} rows in {} ms",
+                results.size(), formatMillis(executeNanos + fetchNanos));
         } catch (SQLException e) {
             logger.error("Failed to execute query: {}", query, e);
             throw new RuntimeException("Query execution failed", e);
@@ -108,15 +157,77 @@ public class DatabaseManager {
         return results;
     }
     
+    /**
+     * Execute SELECT query and hand each row to the consumer as it is fetched.
+     * Rows are not buffered, so arbitrarily large result sets can be processed in constant memory.
+     * The row map passed to the consumer is reused and must not be retained.
+     *
+     * @return number of rows streamed
+     */
+    public long streamQuery(String query, Consumer<Map<String, Object>> rowConsumer, Object... parameters) {
+        String dbType = config.getDbType().toLowerCase();
+        long rowCount = 0;
+        
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            // PostgreSQL only honours the fetch size inside a transaction
+            if ("postgresql".equals(dbType) && autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            
+            try (PreparedStatement stmt = connection.prepareStatement(query,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // MySQL Connector/J streams row by row only with Integer.MIN_VALUE
+                stmt.setFetchSize("mysql".equals(dbType) ? Integer.MIN_VALUE : config.getDbFetchSize());
+                setParameters(stmt, parameters);
+                
+                long startTime = System.nanoTime();
+                long executeNanos;
+                try (ResultSet rs = stmt.executeQuery()) {
+                    executeNanos = System.nanoTime() - startTime;
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    int columnCount = metaData.getColumnCount();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    
+                    while (rs.next()) {
+                        row.clear();
+                        for (int i = 1; i <= columnCount; i++) {
+                            row.put(metaData.getColumnLabel(i), rs.getObject(i));
+                        }
+                        rowConsumer.accept(row);
+                        rowCount++;
+                    }
+                }
+                queryStatistics.record(query, executeNanos, System.nanoTime() - startTime - executeNanos, rowCount);
+            } finally {
+                if (connection.getAutoCommit() != autoCommit) {
+                    connection.commit();
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+            
+            logger.info("Streaming query executed successfully. Streamed {} rows", rowCount);
+        } catch (SQLException e) {
+            logger.error("Failed to execute streaming query: {}", query, e);
+            throw new RuntimeException("Streaming query execution failed", e);
+        }
+        
+        return rowCount;
+    }
+    
     /**
      * Execute UPDATE, INSERT, DELETE queries
      */
     public int executeUpdate(String query, Object... parameters) {
         try (PreparedStatement stmt = connection.prepareStatement(query)) {
             setParameters(stmt, parameters);
+            long startTime = System.nanoTime();
             int affectedRows = stmt.executeUpdate();
+            long executeNanos = System.nanoTime() - startTime;
+            queryStatistics.record(query, executeNanos, 0, affectedRows);
             
-            logger.info("Update query executed successfully. Affected rows: {}", affectedRows);
+            logger.info("Update query executed successfully. Affected rows: {} in {} ms",
+                affectedRows, formatMillis(executeNanos));
             return affectedRows;
         } catch (SQLException e) {
             logger.error("Failed to execute update query: {}", query, e);
@@ -146,6 +257,40 @@ public class DatabaseManager {
         return count != null && ((Number) count).intValue() > 0;
     }
     
+    /**
+     * Get the underlying connection for driver-specific operations such as bulk loading
+     */
+    Connection getConnection() {
+        if (connection == null) {
+            throw new IllegalStateException("Database is not connected");
+        }
+        return connection;
+    }
+    
+    /**
+     * Open a separate MySQL connection with LOAD DATA LOCAL INFILE enabled, for bulk loading only.
+     * The shared connection keeps it disabled so that a server cannot request client files through
+     * it; the caller closes the returned connection.
+     */
+    Connection openLocalInfileConnection() throws SQLException {
+        return DriverManager.getConnection(
+            buildConnectionUrl("mysql") + "&allowLoadLocalInfile=true",
+            config.getDbUsername(),
+            config.getDbPassword()
+        );
+    }
+    
+    /**
+     * Get execute/fetch timings aggregated per normalized SQL for this run
+     */
+    public QueryStatistics getQueryStatistics() {
+        return queryStatistics;
+    }
+    
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+    
     /**
      * Set parameters for prepared statement
      */
@@ -0,0 +1,116 @@
+package com.automation.database;
+
+import com.automation.utils.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement timing aggregation for DatabaseManager
+ * Statements are grouped by normalized SQL (literals replaced with ?, whitespace collapsed)
+ * and timed separately for the execute and fetch phases. Statements whose total time
+ * exceeds {@code db.slow.query.threshold.ms} are written to the dedicated slow-query log.
+ */
+public class QueryStatistics {
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("com.automation.database.SlowQueryLog");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_CACHED_STATEMENTS = 10_000;
+
+    private final Map<String, String> normalizedCache = new ConcurrentHashMap<>();
+    private final Map<String, StatementTimings> timings = new ConcurrentHashMap<>();
+    private final long slowQueryThresholdNanos;
+
+    public QueryStatistics(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis * 1_000_000;
+    }
+
+    /**
+     * Record one execution of a statement
+     */
+    public void record(String sql, long executeNanos, long fetchNanos, long rows) {
+        String normalized = normalize(sql);
+        StatementTimings statement = timings.computeIfAbsent(normalized, key -> new StatementTimings());
+        long totalNanos = executeNanos + fetchNanos;
+
+        statement.execute.record(executeNanos);
+        statement.fetch.record(fetchNanos);
+        statement.total.record(totalNanos);
+        statement.rows.add(rows);
+
+        if (totalNanos >= slowQueryThresholdNanos) {
+            statement.slowCount.increment();
+            slowQueryLogger.warn("{} ms (execute {} ms, fetch {} ms, rows {}): {}",
+                String.format("%.3f", totalNanos / 1_000_000.0),
+                String.format("%.3f", executeNanos / 1_000_000.0),
+                String.format("%.3f", fetchNanos / 1_000_000.0),
+                rows, sql);
+        }
+    }
+
+    /**
+     * Normalize SQL so that executions differing only in literal values share one entry
+     */
+    public String normalize(String sql) {
+        String cached = normalizedCache.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (?...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        if (normalizedCache.size() < MAX_CACHED_STATEMENTS) {
+            normalizedCache.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    public boolean isEmpty() {
+        return timings.isEmpty();
+    }
+
+    public void reset() {
+        timings.clear();
+    }
+
+    /**
+     * Build the per-run summary, slowest statements (by total time) first
+     */
+    public List<Map<String, Object>> toSummary() {
+        return timings.entrySet().stream()
+            .sorted(Comparator.comparingDouble(
+                (Map.Entry<String, StatementTimings> e) -> e.getValue().total.getTotalMillis()).reversed())
+            .map(e -> {
+                StatementTimings statement = e.getValue();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("sql", e.getKey());
+                entry.put("executions", statement.total.getCount());
+                entry.put("rows", statement.rows.sum());
+                entry.put("slowExecutions", statement.slowCount.sum());
+                entry.put("execute", statement.execute.toSummary());
+                entry.put("fetch", statement.fetch.toSummary());
+                entry.put("total", statement.total.toSummary());
+                return entry;
+            })
+            .toList();
+    }
+
+    private static class StatementTimings {
+        private final LatencyHistogram execute = new LatencyHistogram();
+        private final LatencyHistogram fetch = new LatencyHistogram();
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+    }
+}
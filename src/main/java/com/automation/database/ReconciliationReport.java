@@ -0,0 +1,131 @@
+package com.automation.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of an API-vs-database reconciliation run
+ * Holds exact counters for every category and a capped sample of the individual differences
+ */
+public class ReconciliationReport {
+
+    private final int maxReportedDifferences;
+    private final List<String> differences = new ArrayList<>();
+
+    private long apiRecords;
+    private long databaseRecords;
+    private long matchedRecords;
+    private long missingInDatabase;
+    private long extraInDatabase;
+    private long fieldMismatches;
+    private long duplicateKeys;
+
+    public ReconciliationReport(int maxReportedDifferences) {
+        this.maxReportedDifferences = maxReportedDifferences;
+    }
+
+    void recordApiRecord() {
+        apiRecords++;
+    }
+
+    void recordDatabaseRecord() {
+        databaseRecords++;
+    }
+
+    void recordMatch() {
+        matchedRecords++;
+    }
+
+    void recordMissingInDatabase(long key) {
+        missingInDatabase++;
+        addDifference("Missing in database: id=" + key);
+    }
+
+    void recordExtraInDatabase(long key) {
+        extraInDatabase++;
+        addDifference("Extra in database: id=" + key);
+    }
+
+    void recordFieldMismatch(long key, String field, String apiValue, String databaseValue) {
+        fieldMismatches++;
+        addDifference(String.format("Field mismatch: id=%d, field=%s, api='%s', database='%s'",
+            key, field, apiValue, databaseValue));
+    }
+
+    void recordDuplicateKey(String side, long key) {
+        duplicateKeys++;
+        addDifference("Duplicate key in " + side + ": id=" + key);
+    }
+
+    private void addDifference(String difference) {
+        if (differences.size() < maxReportedDifferences) {
+            differences.add(difference);
+        }
+    }
+
+    /**
+     * Check if both sides hold exactly the same records
+     */
+    public boolean isClean() {
+        return missingInDatabase == 0 && extraInDatabase == 0 && fieldMismatches == 0 && duplicateKeys == 0;
+    }
+
+    public long getApiRecords() {
+        return apiRecords;
+    }
+
+    public long getDatabaseRecords() {
+        return databaseRecords;
+    }
+
+    public long getMatchedRecords() {
+        return matchedRecords;
+    }
+
+    public long getMissingInDatabase() {
+        return missingInDatabase;
+    }
+
+    public long getExtraInDatabase() {
+        return extraInDatabase;
+    }
+
+    public long getFieldMismatches() {
+        return fieldMismatches;
+    }
+
+    public long getDuplicateKeys() {
+        return duplicateKeys;
+    }
+
+    public List<String> getDifferences() {
+        return Collections.unmodifiableList(differences);
+    }
+
+    /**
+     * Build a human readable summary including the sampled differences
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(
+            "API records: %d, Database records: %d, Matched: %d, Missing in database: %d, "
+                + "Extra in database: %d, Field mismatches: %d, Duplicate keys: %d",
+            apiRecords, databaseRecords, matchedRecords, missingInDatabase,
+            extraInDatabase, fieldMismatches, duplicateKeys));
+        for (String difference : differences) {
+            sb.append(System.lineSeparator()).append("  ").append(difference);
+        }
+        long total = missingInDatabase + extraInDatabase + fieldMismatches + duplicateKeys;
+        if (total > differences.size()) {
+            sb.append(System.lineSeparator())
+              .append("  ... ").append(total - differences.size()).append(" more differences not shown");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -1,10 +1,16 @@
 package com.automation.pom;
 
 import com.automation.base.BaseTest;
+import com.automation.base.ResponseSpillFilter;
 import com.automation.config.ConfigManager;
+import com.automation.utils.JsonExpectations;
+import com.automation.utils.SchemaRegistry;
+import com.automation.utils.SnapshotStore;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.util.List;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -15,10 +21,24 @@ public abstract class BasePOM extends BaseTest {
     
     protected ConfigManager config = ConfigManager.getInstance();
     protected String baseEndpoint;
+    protected String schemaName;
     
     public BasePOM(String baseEndpoint) {
+        this(baseEndpoint, null);
+    }
+    
+    /**
+     * @param schemaName schema that successful GET responses are validated against when
+     *                   schema.validation.enabled is set; null for none
+     */
+    public BasePOM(String baseEndpoint, String schemaName) {
         this.baseEndpoint = baseEndpoint;
-        setupRestAssured();
+        this.schemaName = schemaName;
+        useSharedSpecifications();
+    }
+    
+    public String getSchemaName() {
+        return schemaName;
     }
     
     /**
@@ -50,13 +70,13 @@ public abstract class BasePOM extends BaseTest {
      */
     public Response performGet(String endpoint) {
         logStep("Performing GET request to: " + endpoint);
-        return getRequestSpec()
+        return validateDefaultSchema(getRequestSpec()
                 .when()
                 .get(endpoint)
                 .then()
                 .spec(responseSpec)
                 .extract()
-                .response();
+                .response());
     }
     
     /**
@@ -64,14 +84,14 @@ public abstract class BasePOM extends BaseTest {
      */
     public Response performGet(String endpoint, Object... pathParams) {
         logStep("Performing GET request to: " + endpoint + " with path params");
-        return getRequestSpec()
+        return validateDefaultSchema(getRequestSpec()
                 .pathParams(createPathParamsMap(pathParams))
                 .when()
                 .get(endpoint)
                 .then()
                 .spec(responseSpec)
                 .extract()
-                .response();
+                .response());
     }
     
     /**
@@ -154,12 +174,72 @@ public abstract class BasePOM extends BaseTest {
         if (actualStatusCode != expectedStatusCode) {
             throw new AssertionError(
                 String.format("Expected status code: %d, but got: %d. Response: %s", 
-                    expectedStatusCode, actualStatusCode, response.asString())
+                    expectedStatusCode, actualStatusCode,
+                    ResponseSpillFilter.preview(response, config.getResponsePreviewChars()))
             );
         }
         logger.info("Status code validation passed: {}", expectedStatusCode);
     }
     
+    /**
+     * Validate the response body against a named JSON schema; for an array body every
+     * element is validated and all violations are reported together
+     */
+    public void validateAgainstSchema(Response response, String schemaName) {
+        long start = System.nanoTime();
+        List<String> violations = SchemaRegistry.getInstance()
+            .validate(ResponseSpillFilter.openBody(response), schemaName);
+        if (!violations.isEmpty()) {
+            throw new AssertionError(String.format("Response violates schema '%s' (%d violations):%n%s",
+                schemaName, violations.size(), firstLines(violations, config.getSchemaMaxReportedViolations())));
+        }
+        logger.info("Schema validation passed: {} ({} us)", schemaName, (System.nanoTime() - start) / 1000);
+    }
+    
+    /**
+     * Check compiled path expectations in one streaming pass over the response body
+     */
+    public JsonExpectations.Result assertJson(Response response, JsonExpectations expectations) {
+        JsonExpectations.Result result = expectations.evaluate(
+            ResponseSpillFilter.openBody(response), config.isJsonAssertFailFast());
+        if (!result.isSuccess()) {
+            throw new AssertionError(String.format("Response does not meet %d path expectations:%n%s",
+                result.violations().size(),
+                firstLines(result.violations(), config.getJsonAssertMaxReportedViolations())));
+        }
+        return result;
+    }
+    
+    /**
+     * Compare the response body with a golden snapshot, ignoring volatile fields
+     */
+    public void assertMatchesSnapshot(Response response, String snapshotName) {
+        SnapshotStore.Comparison comparison = SnapshotStore.getInstance().compare(snapshotName,
+            () -> ResponseSpillFilter.openBody(response), config.isSnapshotRecordMissing(), config.isSnapshotUpdate());
+        if (!comparison.matched()) {
+            throw new AssertionError(String.format("Response differs from snapshot '%s' (%d differences):%n%s",
+                snapshotName, comparison.differences().size(),
+                firstLines(comparison.differences(), config.getSnapshotMaxReportedDifferences())));
+        }
+        logger.info("Snapshot {}: {}", comparison.recorded() ? "recorded" : "matched", snapshotName);
+    }
+    
+    /**
+     * One line per entry, at most maxReported of them, followed by "..." when some were left out
+     */
+    private static String firstLines(List<String> lines, int maxReported) {
+        String shown = String.join(System.lineSeparator(), lines.subList(0, Math.min(maxReported, lines.size())));
+        return lines.size() > maxReported ? shown + System.lineSeparator() + "..." : shown;
+    }
+    
+    private Response validateDefaultSchema(Response response) {
+        if (schemaName != null && config.isSchemaValidationEnabled()
+                && response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
+            validateAgainstSchema(response, schemaName);
+        }
+        return response;
+    }
+    
     /**
      * Extract response as specific type
      */
@@ -14,7 +14,7 @@ public class PostPOM extends BasePOM {
     private static final String POSTS_ENDPOINT = "/posts";
     
     public PostPOM() {
-        super(POSTS_ENDPOINT);
+        super(POSTS_ENDPOINT, "post");
     }
     
     /**
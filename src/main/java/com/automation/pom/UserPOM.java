@@ -14,7 +14,7 @@ public class UserPOM extends BasePOM {
     private static final String USERS_ENDPOINT = "/users";
     
     public UserPOM() {
-        super(USERS_ENDPOINT);
+        super(USERS_ENDPOINT, "user");
     }
     
     /**
@@ -0,0 +1,230 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits concurrent requests to the target and adapts the limit to its latency (AIMD)
+ * <p>
+ * Requests beyond the limit wait for a permit. Completed requests are evaluated in windows of
+ * windowSize samples: a window whose mean latency stays within tolerance of the no-load latency
+ * (the lowest window mean seen, re-measured whenever the limit is at its minimum) and had no
+ * errors raises the limit by one, provided the limit was actually reached; a window with errors
+ * (5xx, 429, exceptions) or inflated latency multiplies it by the backoff ratio. The limit thus climbs while the target
+ * keeps up and settles just below the point where it starts queueing. The best window
+ * throughput and the limit it was reached at are kept for the report.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private static final int MAX_HISTORY = 1000;
+    private static volatile AdaptiveConcurrencyLimiter instance;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+    private final long startedNanos = System.nanoTime();
+
+    private double limit;
+    private int inFlight;
+    private double minLatencyNanos = Double.NaN;
+    private long windowStartNanos = startedNanos;
+    private int windowSamples;
+    private long windowLatencyNanos;
+    private boolean windowDropped;
+    private int windowPeakInFlight;
+    private long completed;
+    private long dropped;
+    private long totalQueueNanos;
+    private long maxQueueNanos;
+    private double lastWindowLatencyNanos;
+    private double bestThroughput;
+    private int limitAtBestThroughput;
+    private final Deque<Window> history = new ArrayDeque<>();
+
+    /**
+     * A granted request slot; pass it back to {@link #release}
+     */
+    public record Permit(long acquiredAtNanos, long queuedNanos) {
+    }
+
+    /**
+     * One evaluated window: the limit after the decision, and what the window measured
+     */
+    public record Window(long elapsedMs, int limit, double meanLatencyMs, double throughputPerSecond,
+                         boolean dropped) {
+    }
+
+    /**
+     * Current limit, queueing and throughput, with the limit's history per window
+     */
+    public record Stats(int limit, int inFlight, long completed, long dropped, double meanQueueMs, double maxQueueMs,
+                        double throughputPerSecond, double bestThroughputPerSecond, int limitAtBestThroughput,
+                        double minLatencyMs, double lastWindowLatencyMs, List<Window> history) {
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int windowSize,
+                                      double latencyTolerance, double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.windowSize = Math.max(1, windowSize);
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public static AdaptiveConcurrencyLimiter getInstance() {
+        if (instance == null) {
+            synchronized (AdaptiveConcurrencyLimiter.class) {
+                if (instance == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    instance = new AdaptiveConcurrencyLimiter(config.getConcurrencyLimiterInitial(),
+                        config.getConcurrencyLimiterMin(), config.getConcurrencyLimiterMax(),
+                        config.getConcurrencyLimiterWindowSize(),
+                        config.getConcurrencyLimiterLatencyTolerancePercent() / 100.0,
+                        config.getConcurrencyLimiterBackoffPercent() / 100.0);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Stats of the shared limiter, or null if no request went through it
+     */
+    public static Stats report() {
+        AdaptiveConcurrencyLimiter limiter = instance;
+        if (limiter == null) {
+            return null;
+        }
+        Stats stats = limiter.getStats();
+        logger.info("Concurrency limit {} (best throughput {}/s at limit {}), mean queue time {} ms over {} requests",
+            stats.limit(), String.format("%.1f", stats.bestThroughputPerSecond()), stats.limitAtBestThroughput(),
+            String.format("%.1f", stats.meanQueueMs()), stats.completed());
+        return stats;
+    }
+
+    /**
+     * Wait until a request may be sent
+     */
+    public Permit acquire() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                permitAvailable.await();
+            }
+            inFlight++;
+            windowPeakInFlight = Math.max(windowPeakInFlight, inFlight);
+            long now = System.nanoTime();
+            long queued = now - start;
+            totalQueueNanos += queued;
+            maxQueueNanos = Math.max(maxQueueNanos, queued);
+            return new Permit(now, queued);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a request permit", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return a permit with the outcome of its request
+     *
+     * @param success false for errors that signal overload, which back the limit off
+     */
+    public void release(Permit permit, boolean success) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            inFlight--;
+            completed++;
+            windowSamples++;
+            windowLatencyNanos += now - permit.acquiredAtNanos();
+            if (!success) {
+                dropped++;
+                windowDropped = true;
+            }
+            if (windowSamples >= windowSize) {
+                endWindow(now);
+            }
+            permitAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        lock.lock();
+        try {
+            double elapsedSeconds = (System.nanoTime() - startedNanos) / 1e9;
+            return new Stats((int) limit, inFlight, completed, dropped,
+                completed == 0 ? 0 : totalQueueNanos / 1e6 / completed, maxQueueNanos / 1e6,
+                elapsedSeconds > 0 ? completed / elapsedSeconds : 0, bestThroughput, limitAtBestThroughput,
+                Double.isNaN(minLatencyNanos) ? 0 : minLatencyNanos / 1e6, lastWindowLatencyNanos / 1e6,
+                new ArrayList<>(history));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void endWindow(long now) {
+        double meanLatency = (double) windowLatencyNanos / windowSamples;
+        double seconds = Math.max(1, now - windowStartNanos) / 1e9;
+        double throughput = windowSamples / seconds;
+        // At the minimum limit the target is as unloaded as this client can make it, so the latency
+        // measured there becomes the no-load latency, also when the target has become slower
+        boolean atMinimum = (int) limit <= minLimit;
+        minLatencyNanos = Double.isNaN(minLatencyNanos) || atMinimum ? meanLatency : Math.min(minLatencyNanos, meanLatency);
+
+        int previous = (int) limit;
+        if (windowDropped || meanLatency > minLatencyNanos * latencyTolerance) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (windowPeakInFlight >= previous) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        if (!windowDropped && throughput > bestThroughput) {
+            bestThroughput = throughput;
+            limitAtBestThroughput = windowPeakInFlight;
+        }
+        if ((int) limit != previous) {
+            logger.debug("Concurrency limit {} -> {} (window latency {} ms, min {} ms, {} req/s{})", previous,
+                (int) limit, String.format("%.1f", meanLatency / 1e6), String.format("%.1f", minLatencyNanos / 1e6),
+                String.format("%.1f", throughput), windowDropped ? ", errors" : "");
+        }
+
+        history.addLast(new Window(TimeUnit.NANOSECONDS.toMillis(now - startedNanos), (int) limit,
+            meanLatency / 1e6, throughput, windowDropped));
+        if (history.size() > MAX_HISTORY) {
+            history.removeFirst();
+        }
+        lastWindowLatencyNanos = meanLatency;
+        windowStartNanos = now;
+        windowSamples = 0;
+        windowLatencyNanos = 0;
+        windowDropped = false;
+        windowPeakInFlight = inFlight;
+    }
+}
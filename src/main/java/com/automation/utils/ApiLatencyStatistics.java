@@ -0,0 +1,122 @@
+package com.automation.utils;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-endpoint latency and throughput of API requests
+ * Endpoints are keyed by method and path, with numeric path segments replaced by {id} so that
+ * requests differing only in ids share one entry. One instance covers the whole suite for the
+ * latency report; each scenario also gets its own (see {@link ScenarioContext}) for its
+ * performance assertions.
+ */
+public class ApiLatencyStatistics {
+    private static final ApiLatencyStatistics suiteStatistics = new ApiLatencyStatistics();
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final Map<String, EndpointTimings> timings = new ConcurrentHashMap<>();
+    private final EndpointTimings all = new EndpointTimings();
+
+    /**
+     * Statistics of every request in the suite
+     */
+    public static ApiLatencyStatistics getSuiteStatistics() {
+        return suiteStatistics;
+    }
+
+    /**
+     * Endpoint key, e.g. {@code GET /users/{id}} for GET /users/1; a query string is dropped
+     */
+    public static String endpoint(String method, String path) {
+        String withoutQuery = path == null ? "" : path.split("\\?", 2)[0];
+        return method.toUpperCase(Locale.ROOT) + " " + NUMERIC_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+    }
+
+    /**
+     * Record one exchange between the given System.nanoTime() readings
+     */
+    public void record(String method, String path, long startNanos, long endNanos, boolean success) {
+        timings.computeIfAbsent(endpoint(method, path), key -> new EndpointTimings())
+            .record(startNanos, endNanos, success);
+        all.record(startNanos, endNanos, success);
+    }
+
+    /**
+     * Latency histogram of one endpoint, or null if it was not requested
+     */
+    public LatencyHistogram getHistogram(String method, String path) {
+        EndpointTimings endpoint = timings.get(endpoint(method, path));
+        return endpoint == null ? null : endpoint.latency;
+    }
+
+    /**
+     * Requests per second of one endpoint, from its first request start to its last response
+     */
+    public double getThroughputPerSecond(String method, String path) {
+        EndpointTimings endpoint = timings.get(endpoint(method, path));
+        return endpoint == null ? 0 : endpoint.throughputPerSecond();
+    }
+
+    /**
+     * Requests per second over all endpoints
+     */
+    public double getThroughputPerSecond() {
+        return all.throughputPerSecond();
+    }
+
+    public long getRequestCount() {
+        return all.latency.getCount();
+    }
+
+    public boolean isEmpty() {
+        return timings.isEmpty();
+    }
+
+    /**
+     * Per-endpoint summary, slowest endpoints (by total time) first
+     */
+    public List<Map<String, Object>> toSummary() {
+        return timings.entrySet().stream()
+            .sorted(Comparator.comparingDouble(
+                (Map.Entry<String, EndpointTimings> e) -> e.getValue().latency.getTotalMillis()).reversed())
+            .map(e -> {
+                EndpointTimings endpoint = e.getValue();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("endpoint", e.getKey());
+                entry.put("requests", endpoint.latency.getCount());
+                entry.put("errors", endpoint.errors.sum());
+                entry.put("latency", endpoint.latency.toSummary());
+                return entry;
+            })
+            .toList();
+    }
+
+    private static class EndpointTimings {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAccumulator firstStartNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator lastEndNanos = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        void record(long startNanos, long endNanos, boolean success) {
+            latency.record(endNanos - startNanos);
+            if (!success) {
+                errors.increment();
+            }
+            firstStartNanos.accumulate(startNanos);
+            lastEndNanos.accumulate(endNanos);
+        }
+
+        double throughputPerSecond() {
+            long count = latency.getCount();
+            long elapsedNanos = lastEndNanos.get() - firstStartNanos.get();
+            return count == 0 || elapsedNanos <= 0 ? 0 : count * 1e9 / elapsedNanos;
+        }
+    }
+}
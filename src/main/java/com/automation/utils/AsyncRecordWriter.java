@@ -0,0 +1,221 @@
+package com.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background writer that moves file output off the test threads
+ * <p>
+ * Records are placed on a bounded queue and a single daemon thread drains them in batches,
+ * appending each batch to the {@link ResponseArchive} with one write (group commit). Segment
+ * names carry the run start and PID, so parallel threads and concurrent JVMs never collide.
+ * When the queue is full, producers wait up to the configured offer timeout (backpressure)
+ * and the record is dropped after that.
+ */
+public class AsyncRecordWriter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRecordWriter.class);
+    private static final Entry STOP = new Entry(null, null, null, null, null, null);
+
+    private final String name;
+    private final ResponseArchive archive;
+    private final int maxBatchSize;
+    private final long offerTimeoutMillis;
+    private final BlockingQueue<Entry> queue;
+    private final Thread writerThread;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder backpressureEvents = new LongAdder();
+    private final LongAdder backpressureNanos = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+
+    private volatile boolean closed;
+
+    public AsyncRecordWriter(String name, ResponseArchive archive, int queueCapacity, int maxBatchSize,
+                             long offerTimeoutMillis) {
+        this.name = name;
+        this.archive = archive;
+        this.maxBatchSize = maxBatchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::drainLoop, "async-writer-" + name);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queue a record for writing
+     *
+     * @return false if the record was dropped because the queue stayed full past the offer timeout
+     */
+    public boolean submit(String scenario, String recordName, String content) {
+        return submit(new Entry(scenario, recordName, content, null, Instant.now(), null));
+    }
+
+    /**
+     * Queue a record whose body is read from a file when it is written; the file must exist until
+     * a later {@link #flush()} or {@link #close()} returns
+     *
+     * @return false if the record was dropped because the queue stayed full past the offer timeout
+     */
+    public boolean submit(String scenario, String recordName, Path bodyFile) {
+        return submit(new Entry(scenario, recordName, null, bodyFile, Instant.now(), null));
+    }
+
+    private boolean submit(Entry entry) {
+        String recordName = entry.name();
+        if (closed) {
+            dropped.increment();
+            return false;
+        }
+
+        boolean accepted = queue.offer(entry);
+        if (!accepted) {
+            backpressureEvents.increment();
+            long waitStart = System.nanoTime();
+            try {
+                accepted = queue.offer(entry, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            backpressureNanos.add(System.nanoTime() - waitStart);
+        }
+
+        if (accepted) {
+            submitted.increment();
+            maxQueueDepth.accumulate(queue.size());
+        } else {
+            dropped.increment();
+            logger.warn("Async writer queue full, dropped record: {}", recordName);
+        }
+        return accepted;
+    }
+
+    /**
+     * Block until every record submitted before this call has been written and flushed
+     */
+    public void flush() {
+        if (!writerThread.isAlive()) {
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            queue.put(new Entry(null, null, null, null, null, latch));
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Flush outstanding records, stop the writer thread and close the archive
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(STOP);
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            archive.close();
+        } catch (IOException e) {
+            logger.error("Failed to close archive for '{}'", name, e);
+        }
+        logger.info("Async writer '{}' closed: {}", name, getMetrics());
+    }
+
+    /**
+     * Throughput, backpressure and drop counters
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("submitted", submitted.sum());
+        metrics.put("written", written.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("batches", batches.sum());
+        metrics.put("bytesWritten", bytesWritten.sum());
+        metrics.put("deduplicatedRecords", archive.getDeduplicatedRecords());
+        metrics.put("deduplicatedBytes", archive.getDeduplicatedBytes());
+        metrics.put("queueDepth", queue.size());
+        metrics.put("maxQueueDepth", maxQueueDepth.get());
+        metrics.put("backpressureEvents", backpressureEvents.sum());
+        metrics.put("backpressureMs", backpressureNanos.sum() / 1_000_000);
+        metrics.put("segments", archive.getSegmentCount());
+        return metrics;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(maxBatchSize);
+        boolean stopped = false;
+        try {
+            while (!stopped) {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                stopped = batch.removeIf(entry -> entry == STOP);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        List<ResponseArchive.ArchiveRecord> records = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            if (entry.flushLatch() == null) {
+                records.add(new ResponseArchive.ArchiveRecord(
+                    entry.scenario(), entry.name(), entry.timestamp(), entry.content(), entry.bodyFile()));
+            }
+        }
+        try {
+            if (!records.isEmpty()) {
+                bytesWritten.add(archive.append(records));
+                written.add(records.size());
+                batches.increment();
+            }
+            if (records.size() < batch.size()) {
+                archive.flush();
+            }
+        } catch (IOException e) {
+            failed.add(records.size());
+            logger.error("Async writer '{}' failed to write batch of {} records", name, records.size(), e);
+        } finally {
+            batch.stream().filter(entry -> entry.flushLatch() != null).forEach(entry -> entry.flushLatch().countDown());
+        }
+    }
+
+    private record Entry(String scenario, String name, String content, Path bodyFile, Instant timestamp,
+                         CountDownLatch flushLatch) {
+    }
+}
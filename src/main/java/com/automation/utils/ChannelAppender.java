@@ -0,0 +1,224 @@
+package com.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long-lived append channel for one file, shared by all writers of that path
+ * <p>
+ * Appends are copied into a pending buffer under a short lock. Whichever writer commits first
+ * swaps the buffer out and writes everything pending with a single channel write while the
+ * others wait for it (group commit), so concurrent appenders share one syscall instead of
+ * each paying an open/write/close.
+ * <ul>
+ *   <li>{@link FlushPolicy#EVERY}: an append returns once its bytes are written to the file</li>
+ *   <li>{@link FlushPolicy#BUFFERED}: bytes are written when the buffer fills, on {@link #flush()}
+ *       (called periodically by FileManager) and on {@link #close()}</li>
+ * </ul>
+ * {@link SyncPolicy} controls when the data is also forced to the storage device. A failed write
+ * fails every append in its batch and every later one; the owner is expected to discard the
+ * appender and open a new one.
+ */
+public class ChannelAppender implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ChannelAppender.class);
+
+    public enum FlushPolicy { EVERY, BUFFERED }
+
+    public enum SyncPolicy { NEVER, FLUSH, CLOSE }
+
+    /**
+     * Thrown by {@link #append(byte[])} after the appender was closed; nothing was appended
+     */
+    public static class ClosedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        ClosedException(Path path) {
+            super("Appender is closed: " + path);
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final FlushPolicy flushPolicy;
+    private final SyncPolicy syncPolicy;
+    private final int bufferBytes;
+
+    private final Object lock = new Object();
+    private byte[] pending;
+    private byte[] spare;
+    private int pendingLength;
+    private long appendedSequence;
+    private long writtenSequence;
+    private boolean writing;
+    private boolean closed;
+    private IOException failure;
+
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    public ChannelAppender(Path path, FlushPolicy flushPolicy, SyncPolicy syncPolicy, int bufferBytes) throws IOException {
+        this.path = path;
+        this.flushPolicy = flushPolicy;
+        this.syncPolicy = syncPolicy;
+        this.bufferBytes = bufferBytes;
+        this.pending = new byte[bufferBytes];
+        this.spare = new byte[bufferBytes];
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Append bytes; with {@link FlushPolicy#EVERY} this returns after they reach the file
+     */
+    public void append(byte[] bytes) throws IOException {
+        long sequence;
+        boolean full;
+        synchronized (lock) {
+            if (closed) {
+                throw new ClosedException(path);
+            }
+            if (failure != null) {
+                throw new IOException("Appender failed earlier: " + path, failure);
+            }
+            if (pendingLength + bytes.length > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + bytes.length));
+            }
+            System.arraycopy(bytes, 0, pending, pendingLength, bytes.length);
+            pendingLength += bytes.length;
+            sequence = ++appendedSequence;
+            full = pendingLength >= bufferBytes;
+        }
+        appends.increment();
+        if (flushPolicy == FlushPolicy.EVERY || full) {
+            commit(sequence);
+        }
+    }
+
+    /**
+     * Write everything appended so far to the file
+     */
+    public void flush() throws IOException {
+        long sequence;
+        synchronized (lock) {
+            sequence = appendedSequence;
+        }
+        commit(sequence);
+    }
+
+    /**
+     * Stop accepting appends, flush pending bytes and release the channel; later calls do nothing
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            flush();
+            if (syncPolicy != SyncPolicy.NEVER && channel.isOpen()) {
+                channel.force(false);
+                syncs.increment();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    public boolean isFailed() {
+        synchronized (lock) {
+            return failure != null;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("appends", appends.sum());
+        metrics.put("writes", writes.sum());
+        metrics.put("syncs", syncs.sum());
+        metrics.put("bytesWritten", bytesWritten.sum());
+        return metrics;
+    }
+
+    /**
+     * Make sure every append up to the given sequence is written; the first caller in
+     * becomes the writer for the whole pending buffer and the rest wait for it
+     */
+    private void commit(long sequence) throws IOException {
+        byte[] batch;
+        int batchLength;
+        long batchSequence;
+        synchronized (lock) {
+            while (writtenSequence < sequence && writing) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for append to " + path, e);
+                }
+            }
+            if (writtenSequence >= sequence) {
+                return;
+            }
+            if (failure != null) {
+                // Nothing is written after a failure, so this append was in the failed batch or later
+                throw new IOException("Append to " + path + " failed", failure);
+            }
+            writing = true;
+            batch = pending;
+            batchLength = pendingLength;
+            batchSequence = appendedSequence;
+            pending = spare;
+            pendingLength = 0;
+        }
+
+        IOException batchFailure = null;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch, 0, batchLength);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            writes.increment();
+            bytesWritten.add(batchLength);
+            if (syncPolicy == SyncPolicy.FLUSH) {
+                channel.force(false);
+                syncs.increment();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to append {} bytes to file: {}", batchLength, path, e);
+            batchFailure = e;
+            throw e;
+        } finally {
+            synchronized (lock) {
+                // A failed batch is not retried; its waiters wake up and rethrow the failure
+                if (batchFailure == null) {
+                    writtenSequence = batchSequence;
+                } else {
+                    failure = batchFailure;
+                }
+                writing = false;
+                spare = batch.length > bufferBytes * 4 ? new byte[bufferBytes] : batch;
+                lock.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import com.automation.pojo.Post;
+import com.automation.pojo.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Streams seeded, reproducible User and Post fixtures at volume
+ * <p>
+ * Every user is derived only from the seed and its index, and its posts only from the seed and
+ * the user id, so chunks of users can be generated on all cores in any order and still yield the
+ * same dataset. User ids run from 1 to the user count and every post references one of them.
+ * Chunks are handed to the consumer or the JSONL files in order through a bounded window, so
+ * memory stays flat however large the dataset, and JSONL output is byte-identical for a seed.
+ */
+public class DatasetGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final long USER_SALT = 0L;
+    private static final long POST_SALT = 0x5DEECE66DL;
+    private static final long CREATED_FROM_MILLIS = 1_672_531_200_000L;
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+    private static final int MAX_INITIAL_BUFFER_BYTES = 64 * 1024 * 1024;
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Bob", "Alice", "Charlie", "Diana", "Eve", "Frank",
+        "Grace", "Henry", "Isabel", "Jack", "Karen", "Leo", "Maria", "Noah", "Olivia", "Paul", "Quinn", "Rosa"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Brown", "Davis", "Miller", "Wilson",
+        "Moore", "Taylor", "Anderson", "Thomas", "Jackson", "White", "Harris", "Martin", "Garcia", "Clark", "Lewis"};
+    private static final String[] STREETS = {"Main Street", "Oak Avenue", "Pine Road", "Maple Lane", "Cedar Court",
+        "Elm Street", "Lake View Drive", "Hillside Avenue", "River Road", "Sunset Boulevard"};
+    private static final String[] CITIES = {"Springfield", "Riverton", "Lakewood", "Fairview", "Greenville",
+        "Madison", "Georgetown", "Franklin", "Clinton", "Salem", "Bristol", "Oxford"};
+    private static final String[] DOMAINS = {"example.com", "example.org", "example.net", "test.com", "mail.test"};
+    private static final String[] COMPANY_SUFFIXES = {"Group", "LLC", "Inc", "and Sons", "Partners", "Labs"};
+    private static final String[] ADJECTIVES = {"Multi-layered", "Proactive", "Robust", "Seamless", "Scalable",
+        "Synergistic", "User-centric", "Distributed", "Adaptive", "Integrated"};
+    private static final String[] DESCRIPTORS = {"client-server", "real-time", "bi-directional", "zero-defect",
+        "mission-critical", "fault-tolerant", "context-sensitive", "high-level"};
+    private static final String[] NOUNS = {"framework", "middleware", "hierarchy", "toolset", "interface",
+        "paradigm", "pipeline", "architecture", "matrix", "protocol"};
+    private static final String[] BS_VERBS = {"harness", "synergize", "streamline", "e-enable", "aggregate",
+        "transform", "leverage", "orchestrate"};
+    private static final String[] BS_NOUNS = {"markets", "supply-chains", "platforms", "e-markets", "channels",
+        "networks", "solutions", "infrastructures"};
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+        "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua",
+        "enim", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi", "aliquip"};
+
+    private final long seed;
+    private final int maxPostsPerUser;
+    private final int threads;
+    private final int chunkSize;
+
+    /**
+     * Totals of one generation run
+     */
+    public record DatasetStats(long users, long posts, long bytes, long elapsedMs) {
+        public double getUsersPerSecond() {
+            return elapsedMs == 0 ? users * 1000.0 : users * 1000.0 / elapsedMs;
+        }
+    }
+
+    private record Chunk(long users, long posts, byte[] userLines, byte[] postLines) {
+    }
+
+    /**
+     * Generator with the post count, thread count and chunk size from configuration
+     */
+    public DatasetGenerator(long seed) {
+        this(seed, ConfigManager.getInstance().getDatasetMaxPostsPerUser(),
+            ConfigManager.getInstance().getDatasetThreads(), ConfigManager.getInstance().getDatasetChunkSize());
+    }
+
+    /**
+     * @param maxPostsPerUser each user gets between 0 and this many posts
+     * @param threads         worker threads, 0 for one per core
+     * @param chunkSize       users generated per task
+     */
+    public DatasetGenerator(long seed, int maxPostsPerUser, int threads, int chunkSize) {
+        this.seed = seed;
+        this.maxPostsPerUser = Math.max(0, maxPostsPerUser);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * The user at a 0-based index; its id is index + 1
+     */
+    public User user(long index) {
+        SplittableRandom random = new SplittableRandom(streamSeed(USER_SALT, index));
+        long id = index + 1;
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+
+        User user = new User(firstName + " " + lastName,
+            (firstName + "." + lastName + "." + id + "@" + pick(random, DOMAINS)).toLowerCase(),
+            (firstName.charAt(0) + lastName + id).toLowerCase());
+        user.setId(id);
+        user.setPhone(digits(random, 3) + "-" + digits(random, 3) + "-" + digits(random, 4));
+        user.setWebsite((lastName + id).toLowerCase() + ".example.com");
+
+        User.Geo geo = new User.Geo();
+        geo.setLat(BigDecimal.valueOf(random.nextInt(-900_000, 900_001), 4).toPlainString());
+        geo.setLng(BigDecimal.valueOf(random.nextInt(-1_800_000, 1_800_001), 4).toPlainString());
+        User.Address address = new User.Address();
+        address.setStreet(random.nextInt(1, 10_000) + " " + pick(random, STREETS));
+        address.setSuite((random.nextBoolean() ? "Apt. " : "Suite ") + random.nextInt(1, 1000));
+        address.setCity(pick(random, CITIES));
+        address.setZipcode(digits(random, 5) + "-" + digits(random, 4));
+        address.setGeo(geo);
+        user.setAddress(address);
+
+        User.Company company = new User.Company();
+        company.setName(pick(random, LAST_NAMES) + " " + pick(random, COMPANY_SUFFIXES));
+        company.setCatchPhrase(pick(random, ADJECTIVES) + " " + pick(random, DESCRIPTORS) + " " + pick(random, NOUNS));
+        company.setBs(pick(random, BS_VERBS) + " " + pick(random, DESCRIPTORS) + " " + pick(random, BS_NOUNS));
+        user.setCompany(company);
+
+        long createdAt = CREATED_FROM_MILLIS + random.nextLong(YEAR_MILLIS);
+        user.setCreatedAt(Instant.ofEpochMilli(createdAt).toString());
+        user.setUpdatedAt(Instant.ofEpochMilli(createdAt + random.nextLong(YEAR_MILLIS)).toString());
+        return user;
+    }
+
+    /**
+     * The posts of a generated user; post ids are unique across the dataset
+     */
+    public List<Post> posts(User user) {
+        SplittableRandom random = new SplittableRandom(streamSeed(POST_SALT, user.getId()));
+        int count = random.nextInt(maxPostsPerUser + 1);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post post = new Post(user.getId(), sentence(random, 3, 8), paragraph(random));
+            post.setId((user.getId() - 1) * maxPostsPerUser + i + 1);
+            post.setCreatedAt(user.getCreatedAt());
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    /**
+     * Generate users and their posts in parallel into the consumers; each user is passed before
+     * its posts, on the worker thread that generated it, so the consumers must be thread-safe
+     */
+    public DatasetStats generate(long userCount, Consumer<User> users, Consumer<Post> posts) {
+        long start = System.currentTimeMillis();
+        long[] totals = new long[2];
+        runChunks(userCount, chunkStart -> {
+            long chunkEnd = Math.min(chunkStart + chunkSize, userCount);
+            long postCount = 0;
+            for (long index = chunkStart; index < chunkEnd; index++) {
+                User user = user(index);
+                users.accept(user);
+                for (Post post : posts(user)) {
+                    posts.accept(post);
+                    postCount++;
+                }
+            }
+            return new Chunk(chunkEnd - chunkStart, postCount, null, null);
+        }, chunk -> {
+            totals[0] += chunk.users();
+            totals[1] += chunk.posts();
+        });
+        return stats(totals[0], totals[1], 0, start);
+    }
+
+    /**
+     * Write users and posts as JSON Lines; the files are identical for the same seed and settings
+     */
+    public DatasetStats writeJsonl(long userCount, Path usersFile, Path postsFile) {
+        long start = System.currentTimeMillis();
+        ObjectWriter userWriter = objectMapper.writerFor(User.class);
+        ObjectWriter postWriter = objectMapper.writerFor(Post.class);
+        long[] totals = new long[3];
+        try {
+            createParent(usersFile);
+            createParent(postsFile);
+            try (OutputStream usersOut = Files.newOutputStream(usersFile);
+                 OutputStream postsOut = Files.newOutputStream(postsFile)) {
+                runChunks(userCount, chunkStart -> {
+                    long chunkEnd = Math.min(chunkStart + chunkSize, userCount);
+                    ByteArrayOutputStream userLines = new ByteArrayOutputStream(initialCapacity(chunkSize * 512L));
+                    ByteArrayOutputStream postLines =
+                        new ByteArrayOutputStream(initialCapacity((long) chunkSize * maxPostsPerUser * 256 + 1));
+                    long postCount = 0;
+                    try {
+                        for (long index = chunkStart; index < chunkEnd; index++) {
+                            User user = user(index);
+                            userLines.write(userWriter.writeValueAsBytes(user));
+                            userLines.write('\n');
+                            for (Post post : posts(user)) {
+                                postLines.write(postWriter.writeValueAsBytes(post));
+                                postLines.write('\n');
+                                postCount++;
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException("Dataset serialization failed", e);
+                    }
+                    return new Chunk(chunkEnd - chunkStart, postCount, userLines.toByteArray(), postLines.toByteArray());
+                }, chunk -> {
+                    try {
+                        usersOut.write(chunk.userLines());
+                        postsOut.write(chunk.postLines());
+                    } catch (IOException e) {
+                        throw new RuntimeException("Dataset write failed", e);
+                    }
+                    totals[0] += chunk.users();
+                    totals[1] += chunk.posts();
+                    totals[2] += chunk.userLines().length + chunk.postLines().length;
+                });
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write dataset to: {}, {}", usersFile, postsFile, e);
+            throw new RuntimeException("Dataset generation failed", e);
+        }
+        DatasetStats stats = stats(totals[0], totals[1], totals[2], start);
+        logger.info("Dataset written to {} and {}", usersFile, postsFile);
+        return stats;
+    }
+
+    /**
+     * Run one task per chunk on the worker pool and hand results over in chunk order;
+     * at most two chunks per thread are in flight, which bounds memory
+     */
+    private void runChunks(long userCount, LongFunction<Chunk> task, Consumer<Chunk> inOrder) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-generator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<Chunk>> window = new ArrayDeque<>();
+        try {
+            for (long chunkStart = 0; chunkStart < userCount; chunkStart += chunkSize) {
+                if (window.size() >= threads * 2) {
+                    inOrder.accept(window.poll().get());
+                }
+                long start = chunkStart;
+                window.add(executor.submit(() -> task.apply(start)));
+            }
+            while (!window.isEmpty()) {
+                inOrder.accept(window.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dataset generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Dataset generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DatasetStats stats(long users, long posts, long bytes, long startMillis) {
+        DatasetStats stats = new DatasetStats(users, posts, bytes, System.currentTimeMillis() - startMillis);
+        logger.info("Generated {} users and {} posts in {} ms ({} users/sec, seed {})",
+            users, posts, stats.elapsedMs(), (long) stats.getUsersPerSecond(), seed);
+        return stats;
+    }
+
+    /**
+     * Estimated chunk size as a buffer capacity; larger chunks grow the buffer as they are written
+     */
+    private static int initialCapacity(long estimatedBytes) {
+        return (int) Math.min(estimatedBytes, MAX_INITIAL_BUFFER_BYTES);
+    }
+
+    private static void createParent(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Seed of the random stream for one user or post list. The seed and the index both pass through
+     * a 64-bit mixer: SplittableRandom advances its raw seed by a fixed step per draw, so linearly
+     * combined seeds would make neighbouring seeds and indexes replay each other's streams shifted.
+     */
+    private long streamSeed(long salt, long index) {
+        return mix64(mix64(seed ^ salt) + index);
+    }
+
+    /**
+     * Stafford's variant 13 finalizer, the mixer SplittableRandom itself uses
+     */
+    private static long mix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String digits(SplittableRandom random, int count) {
+        char[] chars = new char[count];
+        for (int i = 0; i < count; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    private static String sentence(SplittableRandom random, int minWords, int maxWords) {
+        int words = random.nextInt(minWords, maxWords + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(pick(random, WORDS));
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+
+    private static String paragraph(SplittableRandom random) {
+        int sentences = random.nextInt(2, 5);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(sentence(random, 6, 14)).append('.');
+        }
+        return sb.toString();
+    }
+}
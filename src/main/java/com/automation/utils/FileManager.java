@@ -5,12 +5,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * File Manager utility for handling local storage operations
@@ -18,6 +33,15 @@ import java.time.format.DateTimeFormatter;
  */
 public class FileManager {
     private static final Logger logger = LoggerFactory.getLogger(FileManager.class);
+    private static final Map<String, AsyncRecordWriter> asyncWriters = new ConcurrentHashMap<>();
+    private static final Map<String, ResponseArchive> archives = new ConcurrentHashMap<>();
+    /**
+     * Open appenders in least-recently-used order, at most storage.append.max.open.files; guarded by itself
+     */
+    private static final Map<Path, ChannelAppender> appenders = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Set<String> invalidPolicies = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService appendFlusher;
+    private static StorageJanitor storageJanitor;
     private ConfigManager config = ConfigManager.getInstance();
     
     /**
@@ -42,6 +66,7 @@ public class FileManager {
     public String readFile(String filePath) {
         try {
             Path path = Paths.get(filePath);
+            flushAppender(path);
             String content = Files.readString(path);
             logger.info("File read successfully: {}", filePath);
             return content;
@@ -68,14 +93,28 @@ public class FileManager {
     
     /**
      * Append content to file
+     * The file stays open until it falls out of the storage.append.max.open.files most recently
+     * used ones or the suite ends; concurrent appends to the same file are group-committed
+     * according to storage.append.flush.policy and storage.append.sync.policy
      */
     public void appendToFile(String filePath, String content) {
-        try (FileWriter fw = new FileWriter(filePath, true);
-             BufferedWriter bw = new BufferedWriter(fw)) {
-            bw.write(content);
-            bw.newLine();
-            logger.info("Content appended to file: {}", filePath);
-        } catch (IOException e) {
+        Path path = Paths.get(filePath);
+        try {
+            byte[] line = (content + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+            ChannelAppender appender = getAppender(path);
+            try {
+                appender.append(line);
+            } catch (ChannelAppender.ClosedException e) {
+                // Evicted between lookup and append; nothing was written, so reopen once
+                appender = getAppender(path);
+                appender.append(line);
+            } finally {
+                if (appender.isFailed()) {
+                    discardAppender(path, appender);
+                }
+            }
+            logger.debug("Content appended to file: {}", filePath);
+        } catch (IOException | UncheckedIOException e) {
             logger.error("Failed to append to file: {}", filePath, e);
             throw new RuntimeException("File append failed", e);
         }
@@ -88,6 +127,7 @@ public class FileManager {
         try {
             Path source = Paths.get(sourcePath);
             Path destination = Paths.get(destinationPath);
+            flushAppender(source);
             createDirectory(destination.getParent().toString());
             Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
             logger.info("File copied from {} to {}", sourcePath, destinationPath);
@@ -103,6 +143,7 @@ public class FileManager {
     public void deleteFile(String filePath) {
         try {
             Path path = Paths.get(filePath);
+            closeAppender(path);
             if (Files.exists(path)) {
                 Files.delete(path);
                 logger.info("File deleted: {}", filePath);
@@ -158,8 +199,13 @@ public class FileManager {
     
     /**
      * Save test results to local storage
+     * With storage.async.enabled the record is queued for the background writer
      */
     public void saveTestResults(String testName, String results) {
+        if (config.isAsyncStorageEnabled()) {
+            getAsyncWriter("results").submit(ScenarioContext.getCurrentScenario(), testName, results);
+            return;
+        }
         String fileName = createTimestampedFileName(testName + "_results", "json");
         String filePath = getLocalStoragePath() + File.separator + fileName;
         writeFile(filePath, results);
@@ -167,13 +213,273 @@ public class FileManager {
     
     /**
      * Save API response to local storage
+     * With storage.async.enabled the record is queued for the background writer
      */
     public void saveApiResponse(String endpointName, String response) {
+        if (config.isAsyncStorageEnabled()) {
+            getAsyncWriter("responses").submit(ScenarioContext.getCurrentScenario(), endpointName, response);
+            return;
+        }
         String fileName = createTimestampedFileName(endpointName + "_response", "json");
         String filePath = getLocalStoragePath() + File.separator + "responses" + File.separator + fileName;
         writeFile(filePath, response);
     }
     
+    /**
+     * Save an API response body that was spilled to disk without loading it into memory
+     * With storage.async.enabled the background writer streams the file into the archive, where it
+     * is deduplicated and expired like any other response; otherwise it is copied to a new file
+     */
+    public void saveApiResponse(String endpointName, Path bodyFile) {
+        if (config.isAsyncStorageEnabled()) {
+            getAsyncWriter("responses").submit(ScenarioContext.getCurrentScenario(), endpointName, bodyFile);
+            return;
+        }
+        Path directory = Paths.get(getLocalStoragePath(), "responses");
+        createDirectory(directory.toString());
+        try {
+            // createTempFile reserves a unique name, so parallel saves of one endpoint never overwrite each other
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            Path destination = Files.createTempFile(directory, endpointName + "_response_" + timestamp + "_", ".json");
+            copyFile(bodyFile.toString(), destination.toString());
+        } catch (IOException e) {
+            logger.error("Failed to save spilled response for {}", endpointName, e);
+            throw new RuntimeException("File copy failed", e);
+        }
+    }
+    
+    /**
+     * Check whether a response differs from the one archived by the previous run for the
+     * current scenario and endpoint; compares content hashes without reading archived data
+     */
+    public boolean hasResponseChangedSinceLastRun(String endpointName, String response) {
+        return getArchive("responses").hasChangedSinceLastRun(
+            ScenarioContext.getCurrentScenario(), endpointName, response);
+    }
+    
+    /**
+     * Get the shared background writer for a storage sub-directory, starting it on first use.
+     * Segments older than storage.retention.days are expired when the archive is opened.
+     */
+    private AsyncRecordWriter getAsyncWriter(String category) {
+        return asyncWriters.computeIfAbsent(category, key -> {
+            ResponseArchive archive = getArchive(key);
+            archive.expireOlderThan(Duration.ofDays(config.getStorageRetentionDays()));
+            return new AsyncRecordWriter(
+                key,
+                archive,
+                config.getAsyncStorageQueueCapacity(),
+                config.getAsyncStorageBatchSize(),
+                config.getAsyncStorageOfferTimeoutMs()
+            );
+        });
+    }
+    
+    /**
+     * Get the compressed archive for a storage sub-directory ("responses" or "results")
+     * Use it to look up and read back individual saved records
+     */
+    public ResponseArchive getArchive(String category) {
+        return archives.computeIfAbsent(category, key -> new ResponseArchive(
+            Paths.get(config.getLocalStoragePath(), key),
+            key,
+            config.getAsyncStorageSegmentMaxBytes(),
+            config.getStorageCompressionLevel()
+        ));
+    }
+    
+    /**
+     * Block until all queued responses and results have been written
+     */
+    public static void flushPendingWrites() {
+        asyncWriters.values().forEach(AsyncRecordWriter::flush);
+    }
+    
+    /**
+     * Flush and stop the background writers; called once at suite end
+     */
+    public static void closeAsyncWriters() {
+        asyncWriters.values().forEach(AsyncRecordWriter::close);
+        asyncWriters.clear();
+        archives.clear();
+    }
+    
+    /**
+     * Queue, backpressure and drop metrics per background writer
+     */
+    public static Map<String, Map<String, Object>> getAsyncWriterMetrics() {
+        Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+        asyncWriters.forEach((category, writer) -> metrics.put(category, writer.getMetrics()));
+        return metrics;
+    }
+    
+    /**
+     * Get the shared appender for a file, opening its channel on first use.
+     * Buffered appenders are flushed every storage.append.flush.interval.ms by one shared thread.
+     */
+    private ChannelAppender getAppender(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        ChannelAppender appender;
+        ChannelAppender evicted = null;
+        synchronized (appenders) {
+            appender = appenders.get(key);
+            if (appender != null) {
+                return appender;
+            }
+            ChannelAppender.FlushPolicy flushPolicy = policy(ChannelAppender.FlushPolicy.class,
+                "storage.append.flush.policy", config.getAppendFlushPolicy(), ChannelAppender.FlushPolicy.EVERY);
+            ChannelAppender.SyncPolicy syncPolicy = policy(ChannelAppender.SyncPolicy.class,
+                "storage.append.sync.policy", config.getAppendSyncPolicy(), ChannelAppender.SyncPolicy.NEVER);
+            if (flushPolicy == ChannelAppender.FlushPolicy.BUFFERED) {
+                startAppendFlusher(config.getAppendFlushIntervalMs());
+            }
+            appender = new ChannelAppender(key, flushPolicy, syncPolicy, config.getAppendBufferBytes());
+            if (appenders.size() >= Math.max(1, config.getAppendMaxOpenFiles())) {
+                Iterator<ChannelAppender> eldest = appenders.values().iterator();
+                evicted = eldest.next();
+                eldest.remove();
+            }
+            appenders.put(key, appender);
+        }
+        if (evicted != null) {
+            // Closed outside the lock: closing flushes, which may wait for an in-flight write
+            closeQuietly(evicted);
+        }
+        return appender;
+    }
+    
+    private static <E extends Enum<E>> E policy(Class<E> type, String key, String value, E fallback) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            if (invalidPolicies.add(key + "=" + value)) {
+                logger.warn("Invalid {}: {}; using {}", key, value, fallback.name().toLowerCase(Locale.ROOT));
+            }
+            return fallback;
+        }
+    }
+    
+    /**
+     * Drop an appender whose write failed, so the next append to its file opens a new channel
+     */
+    private static void discardAppender(Path path, ChannelAppender appender) {
+        synchronized (appenders) {
+            appenders.remove(path.toAbsolutePath().normalize(), appender);
+        }
+        closeQuietly(appender);
+    }
+    
+    private static void closeQuietly(ChannelAppender appender) {
+        try {
+            appender.close();
+            logger.debug("Appender closed: {} {}", appender.getPath(), appender.getMetrics());
+        } catch (IOException e) {
+            logger.error("Failed to close appender: {}", appender.getPath(), e);
+        }
+    }
+    
+    private static List<ChannelAppender> openAppenders() {
+        synchronized (appenders) {
+            return new ArrayList<>(appenders.values());
+        }
+    }
+    
+    private static synchronized void startAppendFlusher(long intervalMillis) {
+        if (appendFlusher != null) {
+            return;
+        }
+        appendFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "append-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        appendFlusher.scheduleWithFixedDelay(FileManager::flushAppenders, intervalMillis, intervalMillis,
+            TimeUnit.MILLISECONDS);
+    }
+    
+    private static void flushAppender(Path path) throws IOException {
+        ChannelAppender appender;
+        synchronized (appenders) {
+            appender = appenders.get(path.toAbsolutePath().normalize());
+        }
+        if (appender != null) {
+            appender.flush();
+        }
+    }
+    
+    private static void closeAppender(Path path) throws IOException {
+        ChannelAppender appender;
+        synchronized (appenders) {
+            appender = appenders.remove(path.toAbsolutePath().normalize());
+        }
+        if (appender != null) {
+            appender.close();
+        }
+    }
+    
+    /**
+     * Write out everything buffered by the file appenders
+     */
+    public static void flushAppenders() {
+        openAppenders().forEach(appender -> {
+            try {
+                appender.flush();
+            } catch (IOException e) {
+                logger.error("Failed to flush appended content: {}", appender.getPath(), e);
+            }
+        });
+    }
+    
+    /**
+     * Flush and close every open file appender; called once at suite end
+     */
+    public static synchronized void closeAppenders() {
+        if (appendFlusher != null) {
+            appendFlusher.shutdownNow();
+            appendFlusher = null;
+        }
+        List<ChannelAppender> open;
+        synchronized (appenders) {
+            open = new ArrayList<>(appenders.values());
+            appenders.clear();
+        }
+        open.forEach(FileManager::closeQuietly);
+    }
+    
+    /**
+     * Start the suite-level background janitor that enforces retention on local storage
+     */
+    public static synchronized void startStorageJanitor() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (storageJanitor != null || !config.isStorageJanitorEnabled()) {
+            return;
+        }
+        Set<String> excludedExtensions = Arrays.stream(config.getStorageJanitorExcludedExtensions().split(","))
+            .map(String::trim)
+            .filter(extension -> !extension.isEmpty())
+            .collect(Collectors.toSet());
+        storageJanitor = new StorageJanitor(
+            Paths.get(config.getLocalStoragePath()),
+            Duration.ofDays(config.getStorageRetentionDays()).toMillis(),
+            config.getStorageJanitorMaxTotalBytes(),
+            config.getStorageJanitorMaxFiles(),
+            config.getStorageJanitorBatchSize(),
+            Duration.ofSeconds(config.getStorageJanitorIntervalSeconds()).toMillis(),
+            excludedExtensions
+        );
+        storageJanitor.start();
+    }
+    
+    /**
+     * Stop the storage janitor; called once at suite end
+     */
+    public static synchronized void stopStorageJanitor() {
+        if (storageJanitor != null) {
+            storageJanitor.close();
+            storageJanitor = null;
+        }
+    }
+    
     /**
      * Clean up old files in directory (older than specified days)
      */
@@ -0,0 +1,362 @@
+package com.automation.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Path expectations compiled once and checked in a single streaming pass over a JSON document
+ * <p>
+ * Paths use a small JSONPath subset: {@code $}, {@code .field}, {@code .*}, {@code [n]} and
+ * {@code [*]}, e.g. {@code $[*].email}. Each expectation applies to every value its path matches,
+ * and its value must be present in every existing parent the path points into. A named field
+ * whose parent path has no wildcards must exist outright: if that parent is missing or is not an
+ * object, the field is reported missing, and an empty document misses every path. Values are
+ * checked straight off the parser tokens; subtrees no expectation can reach are skipped without
+ * being tokenized into values, and nothing is mapped to objects. Configure an instance once and
+ * share it: evaluation keeps its state on the stack, so it is safe from parallel scenarios.
+ */
+public final class JsonExpectations {
+    private static final Logger logger = LoggerFactory.getLogger(JsonExpectations.class);
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final Object WILDCARD = new Object();
+
+    private final List<Expectation> expectations = new ArrayList<>();
+    /**
+     * Wildcard-free parents of named fields, which must be seen opening as objects
+     */
+    private final Set<List<Object>> requiredParents = new HashSet<>();
+
+    public enum Check {
+        PRESENT, NOT_NULL, NOT_BLANK, NOT_EMPTY, STRING, NUMBER, INTEGER, BOOLEAN, OBJECT, ARRAY, EQUALS
+    }
+
+    private record Expectation(String path, Object[] segments, Check check, String expected) {
+    }
+
+    /**
+     * Outcome of one evaluation: violations in document order, how many values each path
+     * matched and the first scalar seen at each path
+     */
+    public record Result(List<String> violations, Map<String, Long> matchCounts, Map<String, String> firstValues) {
+        public boolean isSuccess() {
+            return violations.isEmpty();
+        }
+
+        public long getMatchCount(String path) {
+            return matchCounts.getOrDefault(path, 0L);
+        }
+
+        public String getFirstValue(String path) {
+            return firstValues.get(path);
+        }
+    }
+
+    public JsonExpectations expect(String path, Check check) {
+        if (check == Check.EQUALS) {
+            throw new IllegalArgumentException("Use expectEqual for EQUALS checks: " + path);
+        }
+        return add(new Expectation(path, compile(path), check, null));
+    }
+
+    public JsonExpectations expectEqual(String path, String expected) {
+        return add(new Expectation(path, compile(path), Check.EQUALS, expected));
+    }
+
+    private JsonExpectations add(Expectation expectation) {
+        Object[] segments = expectation.segments();
+        if (segments.length > 0 && segments[segments.length - 1] instanceof String) {
+            List<Object> parentPath = Arrays.asList(segments).subList(0, segments.length - 1);
+            if (!parentPath.contains(WILDCARD)) {
+                requiredParents.add(List.copyOf(parentPath));
+            }
+        }
+        expectations.add(expectation);
+        return this;
+    }
+
+    /**
+     * Check every expectation in one pass; with failFast the pass stops at the first violation
+     */
+    public Result evaluate(InputStream json, boolean failFast) {
+        Evaluation evaluation = new Evaluation(failFast);
+        try (InputStream in = json; JsonParser parser = jsonFactory.createParser(in)) {
+            evaluation.run(parser);
+        } catch (IOException e) {
+            logger.error("Failed to read JSON document for path assertions", e);
+            throw new RuntimeException("JSON path assertion failed", e);
+        }
+        return new Result(evaluation.violations, evaluation.matchCounts, evaluation.firstValues);
+    }
+
+    private static Object[] compile(String path) {
+        if (!path.startsWith("$")) {
+            throw new IllegalArgumentException("JSON path must start with '$': " + path);
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                String field = path.substring(i + 1, end);
+                if (field.isEmpty()) {
+                    throw new IllegalArgumentException("Empty field name in JSON path: " + path);
+                }
+                segments.add(field.equals("*") ? WILDCARD : field);
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in JSON path: " + path);
+                }
+                String index = path.substring(i + 1, end).trim();
+                segments.add(index.equals("*") ? WILDCARD : Integer.valueOf(index));
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' in JSON path: " + path);
+            }
+        }
+        return segments.toArray();
+    }
+
+    private static boolean matches(Object segment, Object key) {
+        return segment == WILDCARD || segment.equals(key);
+    }
+
+    /**
+     * One open object or array and the expectations that target its children
+     */
+    private static final class Frame {
+        final Object[] path;
+        final boolean array;
+        final List<Expectation> selfExpectations;
+        final List<Expectation> childExpectations = new ArrayList<>();
+        final boolean[] seen;
+        int size;
+        String pendingField;
+
+        Frame(Object[] path, boolean array, List<Expectation> selfExpectations, List<Expectation> all) {
+            this.path = path;
+            this.array = array;
+            this.selfExpectations = selfExpectations;
+            for (Expectation expectation : all) {
+                if (expectation.segments().length == path.length + 1 && prefixMatches(expectation.segments(), path)) {
+                    childExpectations.add(expectation);
+                }
+            }
+            this.seen = new boolean[childExpectations.size()];
+        }
+    }
+
+    private static boolean prefixMatches(Object[] segments, Object[] path) {
+        for (int i = 0; i < path.length; i++) {
+            if (!matches(segments[i], path[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class Evaluation {
+        final boolean failFast;
+        final List<String> violations = new ArrayList<>();
+        final Map<String, Long> matchCounts = new LinkedHashMap<>();
+        final Map<String, String> firstValues = new LinkedHashMap<>();
+        final Set<List<Object>> unopenedParents = new HashSet<>(requiredParents);
+        boolean documentSeen;
+
+        Evaluation(boolean failFast) {
+            this.failFast = failFast;
+        }
+
+        void run(JsonParser parser) throws IOException {
+            Deque<Frame> stack = new ArrayDeque<>();
+            for (JsonToken token; (token = parser.nextToken()) != null; ) {
+                if (failFast && !violations.isEmpty()) {
+                    return;
+                }
+                Frame parent = stack.peek();
+                if (token == JsonToken.FIELD_NAME) {
+                    parent.pendingField = parser.currentName();
+                    continue;
+                }
+                if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    close(stack.pop());
+                    continue;
+                }
+
+                boolean container = token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+                if (!container && parent != null && parent.childExpectations.isEmpty()) {
+                    parent.size++;
+                    continue;
+                }
+
+                Object[] path = childPath(parent);
+                List<Expectation> matched = new ArrayList<>(2);
+                if (parent == null) {
+                    documentSeen = true;
+                    expectations.stream().filter(e -> e.segments().length == 0).forEach(matched::add);
+                } else {
+                    parent.size++;
+                    Object key = path[path.length - 1];
+                    for (int i = 0; i < parent.childExpectations.size(); i++) {
+                        Expectation expectation = parent.childExpectations.get(i);
+                        if (matches(expectation.segments()[path.length - 1], key)) {
+                            parent.seen[i] = true;
+                            matched.add(expectation);
+                        }
+                    }
+                }
+                for (int i = 0; i < matched.size(); i++) {
+                    String matchedPath = matched.get(i).path();
+                    // Several checks on one path count the value once
+                    if (matched.subList(0, i).stream().noneMatch(e -> e.path().equals(matchedPath))) {
+                        matchCounts.merge(matchedPath, 1L, Long::sum);
+                    }
+                }
+
+                if (container) {
+                    if (matched.isEmpty() && !reachesBelow(path)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    if (token == JsonToken.START_OBJECT && !unopenedParents.isEmpty()) {
+                        unopenedParents.remove(Arrays.asList(path));
+                    }
+                    stack.push(new Frame(path, token == JsonToken.START_ARRAY, matched, expectations));
+                } else {
+                    for (Expectation expectation : matched) {
+                        checkScalar(expectation, token, parser, path);
+                    }
+                }
+            }
+            reportUnreachedPaths();
+        }
+
+        /**
+         * Fields under a wildcard-free parent that never opened as an object are missing, since
+         * close() only sees the objects that exist; in an empty document every path is missing
+         */
+        private void reportUnreachedPaths() {
+            for (Expectation expectation : expectations) {
+                Object[] segments = expectation.segments();
+                if (!documentSeen) {
+                    violation(expectation.path(), expectation, "missing");
+                    continue;
+                }
+                if (segments.length == 0 || !(segments[segments.length - 1] instanceof String)) {
+                    continue;
+                }
+                List<Object> parentPath = Arrays.asList(segments).subList(0, segments.length - 1);
+                if (unopenedParents.contains(parentPath)) {
+                    violation(segments, expectation, "missing");
+                }
+            }
+        }
+
+        private Object[] childPath(Frame parent) {
+            if (parent == null) {
+                return new Object[0];
+            }
+            Object[] path = new Object[parent.path.length + 1];
+            System.arraycopy(parent.path, 0, path, 0, parent.path.length);
+            path[parent.path.length] = parent.array ? (Object) parent.size : parent.pendingField;
+            return path;
+        }
+
+        private boolean reachesBelow(Object[] path) {
+            for (Expectation expectation : expectations) {
+                if (expectation.segments().length > path.length && prefixMatches(expectation.segments(), path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void checkScalar(Expectation expectation, JsonToken token, JsonParser parser, Object[] path)
+                throws IOException {
+            String text = token == JsonToken.VALUE_NULL ? null : parser.getText();
+            firstValues.putIfAbsent(expectation.path(), text);
+            boolean valid = switch (expectation.check()) {
+                case PRESENT -> true;
+                case NOT_NULL -> token != JsonToken.VALUE_NULL;
+                case NOT_BLANK -> token == JsonToken.VALUE_STRING && !text.isBlank();
+                case NOT_EMPTY -> token == JsonToken.VALUE_STRING && !text.isEmpty();
+                case STRING -> token == JsonToken.VALUE_STRING;
+                case NUMBER -> token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+                case INTEGER -> token == JsonToken.VALUE_NUMBER_INT;
+                case BOOLEAN -> token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE;
+                case OBJECT, ARRAY -> false;
+                case EQUALS -> expectation.expected() == null ? text == null : expectation.expected().equals(text);
+            };
+            if (!valid) {
+                violation(path, expectation, text == null ? "null" : "\"" + text + "\"");
+            }
+        }
+
+        private void close(Frame frame) {
+            for (Expectation expectation : frame.selfExpectations) {
+                boolean valid = switch (expectation.check()) {
+                    case PRESENT, NOT_NULL -> true;
+                    case NOT_EMPTY -> frame.size > 0;
+                    case OBJECT -> !frame.array;
+                    case ARRAY -> frame.array;
+                    default -> false;
+                };
+                if (!valid) {
+                    violation(frame.path, expectation, (frame.array ? "array" : "object") + " of size " + frame.size);
+                }
+            }
+            for (int i = 0; i < frame.seen.length; i++) {
+                Expectation expectation = frame.childExpectations.get(i);
+                Object last = expectation.segments()[frame.path.length];
+                // Wildcards and indexes only match what exists; named fields must be present
+                if (!frame.seen[i] && last instanceof String field && !frame.array) {
+                    Object[] missing = new Object[frame.path.length + 1];
+                    System.arraycopy(frame.path, 0, missing, 0, frame.path.length);
+                    missing[frame.path.length] = field;
+                    violation(missing, expectation, "missing");
+                }
+            }
+        }
+
+        private void violation(Object[] path, Expectation expectation, String actual) {
+            violation(format(path), expectation, actual);
+        }
+
+        private void violation(String path, Expectation expectation, String actual) {
+            if (failFast && !violations.isEmpty()) {
+                return;
+            }
+            String expected = expectation.check() == Check.EQUALS
+                ? "equal to \"" + expectation.expected() + "\"" : expectation.check().name();
+            violations.add(String.format("%s: expected %s but was %s", path, expected, actual));
+        }
+
+        private String format(Object[] path) {
+            StringBuilder sb = new StringBuilder("$");
+            for (Object key : path) {
+                sb.append(key instanceof Integer ? "[" + key + "]" : "." + key);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.automation.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram
+ * Values are recorded in nanoseconds and bucketed at microsecond resolution with
+ * 8 linear sub-buckets per power of two, giving roughly 12.5% precision on percentiles.
+ * Safe to record from many threads concurrently. Histograms from separate runs or JVMs can be
+ * exported with {@link #toSnapshot()} and merged exactly.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator minNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    /**
+     * Record a single duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value / 1000));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+        minNanos.accumulate(value);
+    }
+
+    /**
+     * Add every value recorded by another histogram
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucket = other.buckets.get(i);
+            if (bucket != 0) {
+                buckets.addAndGet(i, bucket);
+            }
+        }
+        long otherCount = other.count.sum();
+        if (otherCount > 0) {
+            count.add(otherCount);
+            totalNanos.add(other.totalNanos.sum());
+            maxNanos.accumulate(other.maxNanos.get());
+            minNanos.accumulate(other.minNanos.get());
+        }
+    }
+
+    /**
+     * Raw state with non-empty buckets only, for reports that are merged later
+     */
+    public Map<String, Object> toSnapshot() {
+        Map<String, Long> nonEmpty = new TreeMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucket = buckets.get(i);
+            if (bucket != 0) {
+                nonEmpty.put(String.valueOf(i), bucket);
+            }
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", count.sum());
+        snapshot.put("totalNanos", totalNanos.sum());
+        snapshot.put("minNanos", count.sum() == 0 ? 0 : minNanos.get());
+        snapshot.put("maxNanos", maxNanos.get());
+        snapshot.put("buckets", nonEmpty);
+        return snapshot;
+    }
+
+    /**
+     * Rebuild a histogram from {@link #toSnapshot()} output, e.g. after a JSON round trip
+     */
+    public static LatencyHistogram fromSnapshot(Map<String, ?> snapshot) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long snapshotCount = ((Number) snapshot.get("count")).longValue();
+        if (snapshotCount == 0) {
+            return histogram;
+        }
+        ((Map<?, ?>) snapshot.get("buckets")).forEach((index, bucket) ->
+            histogram.buckets.addAndGet(Integer.parseInt(index.toString()), ((Number) bucket).longValue()));
+        histogram.count.add(snapshotCount);
+        histogram.totalNanos.add(((Number) snapshot.get("totalNanos")).longValue());
+        histogram.minNanos.accumulate(((Number) snapshot.get("minNanos")).longValue());
+        histogram.maxNanos.accumulate(((Number) snapshot.get("maxNanos")).longValue());
+        return histogram;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getTotalMillis() {
+        return totalNanos.sum() / 1_000_000.0;
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / n;
+    }
+
+    public double getMinMillis() {
+        return count.sum() == 0 ? 0 : minNanos.get() / 1_000_000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Get the value at the given percentile (0-100) in milliseconds.
+     * Returns the upper bound of the bucket holding the percentile, capped at the observed maximum.
+     */
+    public double getPercentileMillis(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBoundMicros(i) / 1000.0, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Summary statistics in milliseconds, suitable for JSON reports; the raw histogram is
+     * included so reports from several shards can be merged
+     */
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("totalMs", round(getTotalMillis()));
+        summary.put("meanMs", round(getMeanMillis()));
+        summary.put("minMs", round(getMinMillis()));
+        summary.put("p50Ms", round(getPercentileMillis(50)));
+        summary.put("p90Ms", round(getPercentileMillis(90)));
+        summary.put("p95Ms", round(getPercentileMillis(95)));
+        summary.put("p99Ms", round(getPercentileMillis(99)));
+        summary.put("maxMs", round(getMaxMillis()));
+        summary.put("histogram", toSnapshot());
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketUpperBoundMicros(int index) {
+        if (index < SUB_BUCKETS) {
+            return index + 1;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,574 @@
+package com.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only, compressed, content-addressed archive of saved responses and results
+ * <p>
+ * Bodies are hashed with SHA-256 and stored once: the first occurrence is deflated and appended to
+ * the current segment file ({@code .seg}), later identical bodies only add an entry to the index
+ * ({@code .idx}) pointing at the stored copy, from any run. Every index entry holds scenario, name,
+ * timestamp, body location and content hash, so a single record is found from the index and read
+ * back with one positional read, and "did this response change since the last run" is a map lookup
+ * plus a hash comparison.
+ * <p>
+ * Retention works per segment. Index files older than the retention period are deleted first,
+ * releasing their references; a body segment is deleted once it is old and no remaining index entry
+ * references it. Expiry therefore costs one stat per segment instead of one per response.
+ */
+public class ResponseArchive {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseArchive.class);
+    static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"))
+        + "_" + ProcessHandle.current().pid();
+    private static final String SEGMENT_EXTENSION = ".seg";
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final int INDEX_MAGIC = 0x41494458; // "AIDX"
+    private static final int INDEX_VERSION = 2;
+    private static final HexFormat HEX = HexFormat.of();
+    // Shared by all instances so that archives reopened within one JVM never reuse a segment name
+    private static final AtomicInteger SEGMENT_SEQUENCE = new AtomicInteger();
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxSegmentBytes;
+    private final Deflater deflater;
+    private final MessageDigest digest;
+    private final AtomicInteger segmentCount = new AtomicInteger();
+
+    // All state below is guarded by this
+    private final Map<String, List<IndexEntry>> indexes = new LinkedHashMap<>();
+    private final Map<String, BodyLocation> bodies = new HashMap<>();
+    private final Map<String, Integer> segmentReferences = new HashMap<>();
+    private final Map<String, String> latestHashes = new HashMap<>();
+    private Map<String, String> previousRunHashes = Map.of();
+    private boolean loaded;
+
+    private String currentSegment;
+    private FileChannel segmentChannel;
+    private DataOutputStream indexOutput;
+    private long segmentBytes;
+    private byte[] compressBuffer = new byte[64 * 1024];
+    private long deduplicatedRecords;
+    private long deduplicatedBytes;
+
+    public ResponseArchive(Path directory, String prefix, long maxSegmentBytes, int compressionLevel) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.deflater = new Deflater(compressionLevel);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One archived exchange as described by the index; {@code segment} is where the body is stored
+     */
+    public record IndexEntry(String segment, String scenario, String name, Instant timestamp,
+                             long offset, int compressedLength, int rawLength, String contentHash) {
+    }
+
+    /**
+     * Record to append; the body is either {@code content} or, for large bodies, streamed from {@code bodyFile}
+     */
+    public record ArchiveRecord(String scenario, String name, Instant timestamp, String content, Path bodyFile) {
+        public ArchiveRecord(String scenario, String name, Instant timestamp, String content) {
+            this(scenario, name, timestamp, content, null);
+        }
+    }
+
+    private record BodyLocation(String segment, long offset, int compressedLength, int rawLength) {
+    }
+
+    /**
+     * Append records, storing each distinct body once and rolling to a new segment when full.
+     * Body data is written with one channel write per batch; the index is buffered.
+     *
+     * @return number of compressed bytes appended
+     */
+    public synchronized long append(List<ArchiveRecord> records) throws IOException {
+        ensureLoaded();
+        long appended = 0;
+        ByteBuffer batch = ByteBuffer.allocate(64 * 1024);
+        List<IndexEntry> pending = new ArrayList<>();
+        for (ArchiveRecord record : records) {
+            byte[] raw = record.bodyFile() != null || record.content() == null
+                ? new byte[0] : record.content().getBytes(StandardCharsets.UTF_8);
+            long rawLength = raw.length;
+            String hash;
+            if (record.bodyFile() != null) {
+                rawLength = Files.size(record.bodyFile());
+                if (rawLength > Integer.MAX_VALUE) {
+                    throw new IOException("Body too large to archive: " + record.bodyFile());
+                }
+                hash = hash(record.bodyFile());
+            } else {
+                hash = hash(raw);
+            }
+            BodyLocation body = bodies.get(hash);
+
+            if (body == null && record.bodyFile() != null) {
+                // Streamed straight into the segment after the buffered bodies, never held in memory
+                commit(batch, pending);
+                if (segmentChannel == null || segmentBytes > 0 && segmentBytes + rawLength > maxSegmentBytes) {
+                    openNextSegment();
+                }
+                int compressedLength = compressToSegment(record.bodyFile());
+                body = new BodyLocation(currentSegment, segmentBytes, compressedLength, (int) rawLength);
+                bodies.put(hash, body);
+                segmentBytes += compressedLength;
+                appended += compressedLength;
+            } else if (body == null) {
+                int compressedLength = compress(raw);
+                if (segmentChannel == null || segmentBytes + compressedLength > maxSegmentBytes) {
+                    commit(batch, pending);
+                    openNextSegment();
+                }
+                if (batch.remaining() < compressedLength) {
+                    ByteBuffer grown = ByteBuffer.allocate(Math.max(batch.capacity() * 2, batch.position() + compressedLength));
+                    batch.flip();
+                    grown.put(batch);
+                    batch = grown;
+                }
+                body = new BodyLocation(currentSegment, segmentBytes, compressedLength, raw.length);
+                bodies.put(hash, body);
+                batch.put(compressBuffer, 0, compressedLength);
+                segmentBytes += compressedLength;
+                appended += compressedLength;
+            } else {
+                if (segmentChannel == null) {
+                    openNextSegment();
+                }
+                deduplicatedRecords++;
+                deduplicatedBytes += rawLength;
+            }
+
+            IndexEntry entry = new IndexEntry(body.segment(), nullToEmpty(record.scenario()), nullToEmpty(record.name()),
+                record.timestamp(), body.offset(), body.compressedLength(), body.rawLength(), hash);
+            pending.add(entry);
+            segmentReferences.merge(body.segment(), 1, Integer::sum);
+            latestHashes.put(key(entry.scenario(), entry.name()), hash);
+        }
+        commit(batch, pending);
+        return appended;
+    }
+
+    /**
+     * Flush buffered index entries so that readers in other processes see them
+     */
+    public synchronized void flush() throws IOException {
+        if (indexOutput != null) {
+            indexOutput.flush();
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        closeSegment();
+        deflater.end();
+    }
+
+    /**
+     * Find records by scenario and/or name; a null argument matches anything
+     */
+    public List<IndexEntry> find(String scenario, String name) {
+        return find(entry -> (scenario == null || scenario.equals(entry.scenario()))
+            && (name == null || name.equals(entry.name())));
+    }
+
+    /**
+     * Find records written in the given time range (inclusive)
+     */
+    public List<IndexEntry> findBetween(Instant from, Instant to) {
+        return find(entry -> !entry.timestamp().isBefore(from) && !entry.timestamp().isAfter(to));
+    }
+
+    /**
+     * Scan the in-memory index (never the data files) for matching records, oldest first
+     */
+    public synchronized List<IndexEntry> find(Predicate<IndexEntry> filter) {
+        ensureLoaded();
+        List<IndexEntry> matches = new ArrayList<>();
+        for (List<IndexEntry> entries : indexes.values()) {
+            for (IndexEntry entry : entries) {
+                if (filter.test(entry)) {
+                    matches.add(entry);
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(IndexEntry::timestamp));
+        return matches;
+    }
+
+    /**
+     * Content hash of the latest record for this scenario and name written before this run, or null
+     */
+    public synchronized String getPreviousRunHash(String scenario, String name) {
+        ensureLoaded();
+        return previousRunHashes.get(key(nullToEmpty(scenario), nullToEmpty(name)));
+    }
+
+    /**
+     * Check whether content differs from what the previous run stored for the same scenario and name.
+     * Costs one hash of the content and one map lookup; nothing is read from disk.
+     */
+    public boolean hasChangedSinceLastRun(String scenario, String name, String content) {
+        String previous = getPreviousRunHash(scenario, name);
+        if (previous == null) {
+            return true;
+        }
+        synchronized (this) {
+            return !previous.equals(hash(content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Read a single record with one positional read and decompress it
+     */
+    public String read(IndexEntry entry) {
+        Path segmentFile = directory.resolve(entry.segment() + SEGMENT_EXTENSION);
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            ByteBuffer compressed = ByteBuffer.allocate(entry.compressedLength());
+            long position = entry.offset();
+            while (compressed.hasRemaining()) {
+                int read = channel.read(compressed, position);
+                if (read < 0) {
+                    throw new EOFException("Truncated archive segment: " + segmentFile);
+                }
+                position += read;
+            }
+
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed.array());
+                byte[] raw = new byte[entry.rawLength()];
+                int inflated = 0;
+                while (inflated < raw.length && !inflater.finished()) {
+                    inflated += inflater.inflate(raw, inflated, raw.length - inflated);
+                }
+                return new String(raw, 0, inflated, StandardCharsets.UTF_8);
+            } finally {
+                inflater.end();
+            }
+        } catch (IOException | DataFormatException e) {
+            logger.error("Failed to read archived record from {}", segmentFile, e);
+            throw new RuntimeException("Archive read failed", e);
+        }
+    }
+
+    /**
+     * Expire index files older than the retention period, then delete body segments that are
+     * older than the retention period and no longer referenced by any index entry
+     *
+     * @return number of files deleted
+     */
+    public synchronized int expireOlderThan(Duration retention) {
+        ensureLoaded();
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        int expired = 0;
+
+        for (Path indexFile : listFiles(INDEX_EXTENSION)) {
+            String segment = segmentName(indexFile);
+            if (!segment.equals(currentSegment) && isOlderThan(indexFile, cutoff) && delete(indexFile)) {
+                List<IndexEntry> released = indexes.remove(segment);
+                if (released != null) {
+                    released.forEach(entry -> segmentReferences.merge(entry.segment(), -1, Integer::sum));
+                }
+                expired++;
+            }
+        }
+
+        for (Path segmentFile : listFiles(SEGMENT_EXTENSION)) {
+            String segment = segmentName(segmentFile);
+            if (segment.equals(currentSegment) || segmentReferences.getOrDefault(segment, 0) > 0) {
+                continue;
+            }
+            if (isOlderThan(segmentFile, cutoff) && delete(segmentFile)) {
+                segmentReferences.remove(segment);
+                bodies.values().removeIf(body -> body.segment().equals(segment));
+                expired++;
+            }
+        }
+
+        if (expired > 0) {
+            logger.info("Expired {} archive files from {}", expired, directory);
+        }
+        return expired;
+    }
+
+    public synchronized long getDeduplicatedRecords() {
+        return deduplicatedRecords;
+    }
+
+    public synchronized long getDeduplicatedBytes() {
+        return deduplicatedBytes;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount.get();
+    }
+
+    /**
+     * Load every existing index once so that bodies from earlier runs can be reused
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        List<IndexEntry> all = new ArrayList<>();
+        for (Path indexFile : listFiles(INDEX_EXTENSION)) {
+            List<IndexEntry> entries = readIndex(indexFile);
+            indexes.put(segmentName(indexFile), entries);
+            all.addAll(entries);
+        }
+        all.sort(Comparator.comparing(IndexEntry::timestamp));
+        for (IndexEntry entry : all) {
+            if (Files.exists(directory.resolve(entry.segment() + SEGMENT_EXTENSION))) {
+                bodies.putIfAbsent(entry.contentHash(), new BodyLocation(entry.segment(), entry.offset(),
+                    entry.compressedLength(), entry.rawLength()));
+            }
+            segmentReferences.merge(entry.segment(), 1, Integer::sum);
+            latestHashes.put(key(entry.scenario(), entry.name()), entry.contentHash());
+        }
+        previousRunHashes = Map.copyOf(latestHashes);
+        loaded = true;
+        logger.debug("Loaded archive index from {}: {} records, {} distinct bodies", directory, all.size(), bodies.size());
+    }
+
+    private String hash(byte[] raw) {
+        digest.reset();
+        return HEX.formatHex(digest.digest(raw));
+    }
+
+    private String hash(Path file) throws IOException {
+        digest.reset();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HEX.formatHex(digest.digest());
+    }
+
+    /**
+     * Deflate a file chunk by chunk directly into the current segment
+     *
+     * @return number of compressed bytes written
+     */
+    private int compressToSegment(Path file) throws IOException {
+        deflater.reset();
+        byte[] input = new byte[64 * 1024];
+        long written = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int n; (n = in.read(input)) != -1; ) {
+                deflater.setInput(input, 0, n);
+                while (!deflater.needsInput()) {
+                    written += deflateToSegment();
+                }
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            written += deflateToSegment();
+        }
+        return Math.toIntExact(written);
+    }
+
+    private int deflateToSegment() throws IOException {
+        int length = deflater.deflate(compressBuffer);
+        ByteBuffer chunk = ByteBuffer.wrap(compressBuffer, 0, length);
+        while (chunk.hasRemaining()) {
+            segmentChannel.write(chunk);
+        }
+        return length;
+    }
+
+    private int compress(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressBuffer.length) {
+                byte[] grown = new byte[compressBuffer.length * 2];
+                System.arraycopy(compressBuffer, 0, grown, 0, length);
+                compressBuffer = grown;
+            }
+            length += deflater.deflate(compressBuffer, length, compressBuffer.length - length);
+        }
+        return length;
+    }
+
+    /**
+     * Write buffered body data, then the index entries pointing at it, so an index entry never
+     * references data that has not reached the segment file
+     */
+    private void commit(ByteBuffer batch, List<IndexEntry> pending) throws IOException {
+        if (batch.position() > 0) {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                segmentChannel.write(batch);
+            }
+        }
+        batch.clear();
+        for (IndexEntry entry : pending) {
+            writeIndexEntry(entry);
+            indexes.computeIfAbsent(currentSegment, key -> new ArrayList<>()).add(entry);
+        }
+        pending.clear();
+    }
+
+    private void writeIndexEntry(IndexEntry entry) throws IOException {
+        indexOutput.writeLong(entry.timestamp().toEpochMilli());
+        indexOutput.writeUTF(entry.segment());
+        indexOutput.writeLong(entry.offset());
+        indexOutput.writeInt(entry.compressedLength());
+        indexOutput.writeInt(entry.rawLength());
+        indexOutput.write(HEX.parseHex(entry.contentHash()));
+        indexOutput.writeUTF(entry.scenario());
+        indexOutput.writeUTF(entry.name());
+    }
+
+    private static List<IndexEntry> readIndex(Path indexFile) {
+        List<IndexEntry> entries = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                logger.warn("Skipping archive index with unknown format: {}", indexFile);
+                return entries;
+            }
+            byte[] hash = new byte[32];
+            while (true) {
+                long timestamp;
+                try {
+                    timestamp = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                String segment = in.readUTF();
+                long offset = in.readLong();
+                int compressedLength = in.readInt();
+                int rawLength = in.readInt();
+                in.readFully(hash);
+                String scenario = in.readUTF();
+                String name = in.readUTF();
+                entries.add(new IndexEntry(segment, scenario, name, Instant.ofEpochMilli(timestamp),
+                    offset, compressedLength, rawLength, HEX.formatHex(hash)));
+            }
+        } catch (EOFException e) {
+            logger.warn("Archive index ends with a partial entry, ignoring it: {}", indexFile);
+        } catch (IOException e) {
+            logger.error("Failed to read archive index: {}", indexFile, e);
+        }
+        return entries;
+    }
+
+    private void openNextSegment() throws IOException {
+        closeSegment();
+        Files.createDirectories(directory);
+        currentSegment = String.format("%s_%s_%05d", prefix, RUN_ID, SEGMENT_SEQUENCE.incrementAndGet());
+        segmentCount.incrementAndGet();
+        segmentChannel = FileChannel.open(directory.resolve(currentSegment + SEGMENT_EXTENSION),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        indexOutput = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(directory.resolve(currentSegment + INDEX_EXTENSION), StandardOpenOption.CREATE_NEW),
+            16 * 1024));
+        indexOutput.writeInt(INDEX_MAGIC);
+        indexOutput.writeInt(INDEX_VERSION);
+        segmentBytes = 0;
+        logger.debug("Opened archive segment: {}", currentSegment);
+    }
+
+    private void closeSegment() throws IOException {
+        if (segmentChannel == null) {
+            return;
+        }
+        try {
+            indexOutput.close();
+            segmentChannel.close();
+        } finally {
+            segmentChannel = null;
+            indexOutput = null;
+            currentSegment = null;
+        }
+    }
+
+    private List<Path> listFiles(String extension) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(extension)).toList();
+        } catch (IOException e) {
+            logger.error("Failed to list archive directory: {}", directory, e);
+            return List.of();
+        }
+    }
+
+    private static boolean isOlderThan(Path file, long cutoffMillis) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() < cutoffMillis;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            logger.debug("Deleted archive file: {}", file);
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to delete archive file: {}", file, e);
+            return false;
+        }
+    }
+
+    private static String segmentName(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+
+    private static String key(String scenario, String name) {
+        return scenario + '\u0000' + name;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
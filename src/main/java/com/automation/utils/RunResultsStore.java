@@ -0,0 +1,290 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Structured, queryable store of scenario results, one JSON Lines file per run
+ * <p>
+ * Every scenario appends one {@link ScenarioResult} line to {@code run_<runId>.jsonl} through a
+ * shared {@link ChannelAppender}, so parallel scenarios append without contention. When the run
+ * is closed its {@link RunSummary} is appended to {@code runs.jsonl}, the index of all runs:
+ * run-level trends are answered from the index alone, and scenario-level queries stream only
+ * the run files they select. Runs that ended without a summary are summarized on the fly.
+ */
+public class RunResultsStore {
+    private static final Logger logger = LoggerFactory.getLogger(RunResultsStore.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String RUN_INDEX = "runs.jsonl";
+    private static final String RUN_FILE_PREFIX = "run_";
+    private static final String RUN_FILE_EXTENSION = ".jsonl";
+    private static volatile RunResultsStore instance;
+
+    private final Path directory;
+    private final String runId;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final AtomicLong recorded = new AtomicLong();
+    private ChannelAppender appender;
+
+    /**
+     * One result line per scenario execution
+     */
+    public record ScenarioResult(String runId, String scenario, String uri, String status, List<String> tags,
+                                 long startedAtMillis, long durationMs, long requests, long requestBytes,
+                                 long responseBytes, String thread) {
+    }
+
+    /**
+     * One index line per run
+     */
+    public record RunSummary(String runId, long startedAtMillis, long finishedAtMillis, long scenarios,
+                             Map<String, Long> statusCounts, long totalDurationMs, long requests,
+                             long requestBytes, long responseBytes) {
+    }
+
+    /**
+     * Aggregated history of one scenario across runs
+     */
+    public record ScenarioTrend(String scenario, long executions, long passed, long failed,
+                                long meanDurationMs, long maxDurationMs, long lastDurationMs) {
+        public double getFailureRate() {
+            return executions == 0 ? 0 : (double) failed / executions;
+        }
+    }
+
+    public RunResultsStore(Path directory, String runId) {
+        this.directory = directory;
+        this.runId = runId;
+    }
+
+    /**
+     * Get the store for the current run under run.results.path
+     */
+    public static RunResultsStore getInstance() {
+        if (instance == null) {
+            synchronized (RunResultsStore.class) {
+                if (instance == null) {
+                    instance = new RunResultsStore(
+                        Paths.get(ConfigManager.getInstance().getRunResultsPath()),
+                        ResponseArchive.RUN_ID);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Append a scenario result to the current run; safe to call from parallel scenarios
+     */
+    public void record(ScenarioResult result) {
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(result);
+            byte[] terminated = new byte[line.length + 1];
+            System.arraycopy(line, 0, terminated, 0, line.length);
+            terminated[line.length] = '\n';
+            appender().append(terminated);
+            recorded.incrementAndGet();
+        } catch (IOException e) {
+            logger.error("Failed to record result for scenario: {}", result.scenario(), e);
+            throw new RuntimeException("Run result recording failed", e);
+        }
+    }
+
+    /**
+     * Close the run file and append the run summary to the index
+     */
+    public synchronized void close() {
+        if (appender == null) {
+            return;
+        }
+        try {
+            appender.close();
+            appender = null;
+            RunSummary summary = summarize(runId, runFile(runId));
+            summary = new RunSummary(summary.runId(), startedAtMillis, System.currentTimeMillis(), summary.scenarios(),
+                summary.statusCounts(), summary.totalDurationMs(), summary.requests(), summary.requestBytes(),
+                summary.responseBytes());
+            Files.write(directory.resolve(RUN_INDEX), (objectMapper.writeValueAsString(summary) + "\n").getBytes(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            logger.info("Run results stored: {} scenarios in {}", recorded.get(), runFile(runId));
+        } catch (IOException e) {
+            logger.error("Failed to close run results for run: {}", runId, e);
+        }
+    }
+
+    /**
+     * Close the current run's store; called once at suite end
+     */
+    public static synchronized void closeInstance() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    /**
+     * Summaries of all finished runs, oldest first, without reading any per-scenario data
+     * except for runs that ended without writing their summary
+     */
+    public List<RunSummary> listRuns() {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        Map<String, RunSummary> runs = new TreeMap<>();
+        listFinishedRuns().forEach(summary -> runs.put(summary.runId(), summary));
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(RUN_FILE_PREFIX) && name.endsWith(RUN_FILE_EXTENSION))
+                .map(name -> name.substring(RUN_FILE_PREFIX.length(), name.length() - RUN_FILE_EXTENSION.length()))
+                .filter(id -> !runs.containsKey(id) && !id.equals(runId))
+                .forEach(id -> runs.put(id, summarize(id, runFile(id))));
+        } catch (IOException e) {
+            logger.warn("Failed to list run results in {}: {}", directory, e.getMessage());
+        }
+        return new ArrayList<>(runs.values());
+    }
+
+    /**
+     * Summaries from the run index only, oldest first
+     */
+    public List<RunSummary> listFinishedRuns() {
+        Map<String, RunSummary> runs = new TreeMap<>();
+        Path index = directory.resolve(RUN_INDEX);
+        if (Files.exists(index)) {
+            forEachLine(index, RunSummary.class, summary -> runs.put(summary.runId(), summary));
+        }
+        return new ArrayList<>(runs.values());
+    }
+
+    /**
+     * Stream every scenario result of the selected runs
+     */
+    public void scan(Predicate<RunSummary> runFilter, Consumer<ScenarioResult> consumer) {
+        listRuns().stream()
+            .filter(runFilter)
+            .forEach(run -> forEachLine(runFile(run.runId()), ScenarioResult.class, consumer));
+    }
+
+    /**
+     * Per-scenario pass/fail and duration history over the most recent runs, keyed by scenario name
+     */
+    public Map<String, ScenarioTrend> scenarioTrends(int lastRuns) {
+        return scenarioTrends(lastRuns, ScenarioResult::scenario);
+    }
+
+    /**
+     * Pass/fail and duration history over the most recent runs, grouped by the given key of each
+     * result, e.g. {@link ScenarioResult#uri()} to tell apart outline examples and same-named scenarios
+     */
+    public Map<String, ScenarioTrend> scenarioTrends(int lastRuns, Function<ScenarioResult, String> keyOf) {
+        return trends(listRuns(), lastRuns, keyOf);
+    }
+
+    /**
+     * Like {@link #scenarioTrends(int, Function)} over finished runs only, i.e. runs with a summary
+     * in the run index; runs still being written (by other shards, say) are left out, so every
+     * reader of a shared store sees the same history
+     */
+    public Map<String, ScenarioTrend> finishedScenarioTrends(int lastRuns, Function<ScenarioResult, String> keyOf) {
+        return trends(listFinishedRuns(), lastRuns, keyOf);
+    }
+
+    private Map<String, ScenarioTrend> trends(List<RunSummary> runs, int lastRuns,
+                                              Function<ScenarioResult, String> keyOf) {
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        Consumer<ScenarioResult> accumulate = result -> {
+            // executions, passed, failed, total duration, max duration, last duration
+            long[] t = totals.computeIfAbsent(keyOf.apply(result), key -> new long[6]);
+            t[0]++;
+            if ("PASSED".equals(result.status())) {
+                t[1]++;
+            } else if ("FAILED".equals(result.status())) {
+                t[2]++;
+            }
+            t[3] += result.durationMs();
+            t[4] = Math.max(t[4], result.durationMs());
+            t[5] = result.durationMs();
+        };
+        runs.subList(Math.max(0, runs.size() - lastRuns), runs.size())
+            .forEach(run -> forEachLine(runFile(run.runId()), ScenarioResult.class, accumulate));
+
+        Map<String, ScenarioTrend> trends = new LinkedHashMap<>();
+        totals.entrySet().stream()
+            .sorted(Comparator.comparing(Map.Entry::getKey))
+            .forEach(e -> {
+                long[] t = e.getValue();
+                trends.put(e.getKey(), new ScenarioTrend(e.getKey(), t[0], t[1], t[2], t[3] / t[0], t[4], t[5]));
+            });
+        return trends;
+    }
+
+    private synchronized ChannelAppender appender() throws IOException {
+        if (appender == null) {
+            Files.createDirectories(directory);
+            appender = new ChannelAppender(runFile(runId), ChannelAppender.FlushPolicy.EVERY,
+                ChannelAppender.SyncPolicy.CLOSE, 16 * 1024);
+        }
+        return appender;
+    }
+
+    private Path runFile(String id) {
+        return directory.resolve(RUN_FILE_PREFIX + id + RUN_FILE_EXTENSION);
+    }
+
+    private RunSummary summarize(String id, Path file) {
+        Map<String, Long> statusCounts = new TreeMap<>();
+        // scenarios, duration, requests, request bytes, response bytes, first start, last end
+        long[] totals = {0, 0, 0, 0, 0, Long.MAX_VALUE, 0};
+        forEachLine(file, ScenarioResult.class, result -> {
+            statusCounts.merge(result.status(), 1L, Long::sum);
+            totals[0]++;
+            totals[1] += result.durationMs();
+            totals[2] += result.requests();
+            totals[3] += result.requestBytes();
+            totals[4] += result.responseBytes();
+            totals[5] = Math.min(totals[5], result.startedAtMillis());
+            totals[6] = Math.max(totals[6], result.startedAtMillis() + result.durationMs());
+        });
+        return new RunSummary(id, totals[0] == 0 ? 0 : totals[5], totals[6], totals[0], statusCounts, totals[1],
+            totals[2], totals[3], totals[4]);
+    }
+
+    private <T> void forEachLine(Path file, Class<T> type, Consumer<T> consumer) {
+        ObjectReader reader = objectMapper.readerFor(type);
+        try (InputStream in = Files.newInputStream(file);
+             MappingIterator<T> iterator = reader.readValues(in)) {
+            while (iterator.hasNextValue()) {
+                consumer.accept(iterator.nextValue());
+            }
+        } catch (IOException | RuntimeException e) {
+            // A run cut short may end with a partial line
+            logger.warn("Stopped reading {} at a malformed record: {}", file, e.getMessage());
+        }
+    }
+}
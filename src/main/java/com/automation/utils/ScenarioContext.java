@@ -0,0 +1,112 @@
+package com.automation.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the name of the scenario running on the current thread
+ * Set by the Cucumber hooks so that utilities such as the response archive can tag their records.
+ * Also counts the requests made by the scenario and the bytes sent and received, and keeps the
+ * scenario's request latencies for its performance assertions. Threads a scenario starts itself
+ * join it with {@link #join(Scope)} so their requests count towards it too.
+ */
+public final class ScenarioContext {
+
+    private static final ThreadLocal<String> currentScenario = new ThreadLocal<>();
+    private static final ThreadLocal<ScenarioStats> currentStats = ThreadLocal.withInitial(ScenarioStats::new);
+    private static final ThreadLocal<ApiLatencyStatistics> currentLatency =
+        ThreadLocal.withInitial(ApiLatencyStatistics::new);
+
+    private ScenarioContext() {
+        // Utility class
+    }
+
+    public static void setCurrentScenario(String scenarioName) {
+        currentScenario.set(scenarioName);
+        currentStats.set(new ScenarioStats());
+        currentLatency.set(new ApiLatencyStatistics());
+    }
+
+    public static String getCurrentScenario() {
+        return currentScenario.get();
+    }
+
+    /**
+     * Count one request/response exchange for the current scenario
+     */
+    public static void recordRequest(long requestBytes, long responseBytes) {
+        ScenarioStats stats = currentStats.get();
+        stats.requests.increment();
+        stats.requestBytes.add(requestBytes);
+        stats.responseBytes.add(responseBytes);
+    }
+
+    public static long getRequestCount() {
+        return currentStats.get().requests.sum();
+    }
+
+    public static long getRequestBytes() {
+        return currentStats.get().requestBytes.sum();
+    }
+
+    public static long getResponseBytes() {
+        return currentStats.get().responseBytes.sum();
+    }
+
+    /**
+     * Latencies of the requests made by the current scenario
+     */
+    public static ApiLatencyStatistics getLatencyStatistics() {
+        return currentLatency.get();
+    }
+
+    /**
+     * The current thread's scenario, to hand to threads it starts
+     */
+    public static Scope currentScope() {
+        return new Scope(currentScenario.get(), currentStats.get(), currentLatency.get());
+    }
+
+    /**
+     * Make this thread's requests count towards the given scenario; {@link #clear()} when done
+     */
+    public static void join(Scope scope) {
+        currentScenario.set(scope.scenarioName);
+        currentStats.set(scope.stats);
+        currentLatency.set(scope.latency);
+    }
+
+    /**
+     * Milliseconds since the current scenario was set
+     */
+    public static long getElapsedMillis() {
+        return (System.nanoTime() - currentStats.get().startNanos) / 1_000_000;
+    }
+
+    public static void clear() {
+        currentScenario.remove();
+        currentStats.remove();
+        currentLatency.remove();
+    }
+
+    /**
+     * A scenario's name, counters and latencies, shared by the threads that {@link #join(Scope)} it
+     */
+    public static final class Scope {
+        private final String scenarioName;
+        private final ScenarioStats stats;
+        private final ApiLatencyStatistics latency;
+
+        private Scope(String scenarioName, ScenarioStats stats, ApiLatencyStatistics latency) {
+            this.scenarioName = scenarioName;
+            this.stats = stats;
+            this.latency = latency;
+        }
+    }
+
+    private static class ScenarioStats {
+        private final long startNanos = System.nanoTime();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+    }
+}
@@ -0,0 +1,101 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Orders scenarios longest-first from their duration history
+ * <p>
+ * Expected durations are the mean of each scenario's recent runs in the {@link RunResultsStore},
+ * matched by feature uri and line so outline examples and same-named scenarios keep their own
+ * history; scenarios without history get the median of the known ones. Handing the longest scenarios to
+ * the thread pool first (the LPT heuristic) keeps one long scenario from starting last and
+ * dominating the wall time. The schedule's estimated makespan is kept so it can be reported
+ * against the actual one at the end of the suite.
+ */
+public class ScenarioScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioScheduler.class);
+    private static volatile ScheduleReport lastSchedule;
+
+    /**
+     * Estimated and actual wall time of the last schedule; actual is 0 until the report is taken
+     */
+    public record ScheduleReport(int scenarios, int withHistory, int threads, long totalEstimatedMs,
+                                 long estimatedMakespanMs, long scheduledAtMillis, long actualMakespanMs) {
+    }
+
+    private record Estimate<T>(T scenario, int position, long durationMs) {
+    }
+
+    /**
+     * Scenarios in longest-expected-first order; ties keep their original order
+     * {@code uriOf} gives a scenario's location as recorded in {@link RunResultsStore.ScenarioResult#uri()}
+     */
+    public static <T> List<T> orderLongestFirst(List<T> scenarios, Function<T, String> uriOf, int threads) {
+        ConfigManager config = ConfigManager.getInstance();
+        Map<String, RunResultsStore.ScenarioTrend> trends = RunResultsStore.getInstance()
+            .scenarioTrends(config.getSchedulerHistoryRuns(), RunResultsStore.ScenarioResult::uri);
+
+        List<Long> known = new ArrayList<>();
+        for (T scenario : scenarios) {
+            RunResultsStore.ScenarioTrend trend = trends.get(uriOf.apply(scenario));
+            if (trend != null) {
+                known.add(trend.meanDurationMs());
+            }
+        }
+        known.sort(null);
+        long fallback = known.isEmpty() ? 0 : known.get(known.size() / 2);
+
+        List<Estimate<T>> estimates = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            RunResultsStore.ScenarioTrend trend = trends.get(uriOf.apply(scenarios.get(i)));
+            estimates.add(new Estimate<>(scenarios.get(i), i, trend != null ? trend.meanDurationMs() : fallback));
+        }
+        estimates.sort(Comparator.comparingLong((Estimate<T> e) -> e.durationMs()).reversed()
+            .thenComparingInt(Estimate::position));
+
+        // Simulate the pool: each scenario goes to the thread that frees up first
+        PriorityQueue<Long> threadLoads = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            threadLoads.add(0L);
+        }
+        long total = 0;
+        List<T> ordered = new ArrayList<>(estimates.size());
+        for (Estimate<T> estimate : estimates) {
+            threadLoads.add(threadLoads.poll() + estimate.durationMs());
+            total += estimate.durationMs();
+            ordered.add(estimate.scenario());
+        }
+        long makespan = threadLoads.stream().mapToLong(Long::longValue).max().orElse(0);
+
+        lastSchedule = new ScheduleReport(scenarios.size(), known.size(), threads, total, makespan,
+            System.currentTimeMillis(), 0);
+        logger.info("Scheduled {} scenarios longest-first on {} threads ({} with history): estimated makespan {} ms",
+            scenarios.size(), threads, known.size(), makespan);
+        return ordered;
+    }
+
+    /**
+     * The last schedule with its actual makespan measured up to now, or null if nothing was scheduled
+     */
+    public static ScheduleReport report() {
+        ScheduleReport schedule = lastSchedule;
+        if (schedule == null) {
+            return null;
+        }
+        ScheduleReport report = new ScheduleReport(schedule.scenarios(), schedule.withHistory(), schedule.threads(),
+            schedule.totalEstimatedMs(), schedule.estimatedMakespanMs(), schedule.scheduledAtMillis(),
+            System.currentTimeMillis() - schedule.scheduledAtMillis());
+        logger.info("Makespan: estimated {} ms, actual {} ms for {} scenarios on {} threads",
+            report.estimatedMakespanMs(), report.actualMakespanMs(), report.scenarios(), report.threads());
+        return report;
+    }
+}
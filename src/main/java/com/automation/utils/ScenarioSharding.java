@@ -0,0 +1,116 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Splits the scenarios of a suite deterministically across shard.count JVMs or CI agents
+ * <p>
+ * Every shard computes the same partition from the same inputs and keeps only its own part, so
+ * shards need no coordination. The {@code hash} strategy assigns a scenario by a stable hash of
+ * its key (feature file name and line), independent of machine and checkout path. The
+ * {@code balanced} strategy assigns scenarios longest-first to the least-loaded shard using the
+ * history of finished runs (those with a summary in the run index), matched by feature uri and
+ * line. That evens out shard wall times but requires every shard to see the same history: share
+ * run.results.path and the checkout path between them. Runs still in progress, including the
+ * other shards of the same run, are left out so they cannot change the partition.
+ */
+public class ScenarioSharding {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioSharding.class);
+
+    /**
+     * The scenarios of the configured shard, in their original order
+     */
+    public static <T> List<T> select(List<T> scenarios, Function<T, String> keyOf, Function<T, String> uriOf) {
+        ConfigManager config = ConfigManager.getInstance();
+        int count = config.getShardCount();
+        int index = config.getShardIndex();
+        if (count <= 1) {
+            return scenarios;
+        }
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (count - 1) + ": " + index);
+        }
+
+        int[] assignment = "balanced".equalsIgnoreCase(config.getShardStrategy())
+            ? balanced(scenarios, keyOf, uriOf, count, config.getSchedulerHistoryRuns())
+            : hashed(scenarios, keyOf, count);
+        List<T> selected = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            if (assignment[i] == index) {
+                selected.add(scenarios.get(i));
+            }
+        }
+        logger.info("Shard {}/{} ({}): running {} of {} scenarios",
+            index, count, config.getShardStrategy(), selected.size(), scenarios.size());
+        return selected;
+    }
+
+    private static <T> int[] hashed(List<T> scenarios, Function<T, String> keyOf, int count) {
+        int[] assignment = new int[scenarios.size()];
+        for (int i = 0; i < scenarios.size(); i++) {
+            assignment[i] = (int) Long.remainderUnsigned(stableHash(keyOf.apply(scenarios.get(i))), count);
+        }
+        return assignment;
+    }
+
+    private static <T> int[] balanced(List<T> scenarios, Function<T, String> keyOf,
+                                      Function<T, String> uriOf, int count, int historyRuns) {
+        Map<String, RunResultsStore.ScenarioTrend> trends = RunResultsStore.getInstance()
+            .finishedScenarioTrends(historyRuns, RunResultsStore.ScenarioResult::uri);
+        List<Long> known = new ArrayList<>();
+        long[] durations = new long[scenarios.size()];
+        for (int i = 0; i < scenarios.size(); i++) {
+            RunResultsStore.ScenarioTrend trend = trends.get(uriOf.apply(scenarios.get(i)));
+            durations[i] = trend == null ? -1 : trend.meanDurationMs();
+            if (trend != null) {
+                known.add(trend.meanDurationMs());
+            }
+        }
+        known.sort(null);
+        long fallback = known.isEmpty() ? 1 : Math.max(1, known.get(known.size() / 2));
+
+        // Longest first, ties broken by key so every shard sees the same order
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            if (durations[i] < 0) {
+                durations[i] = fallback;
+            }
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong((Integer i) -> durations[i]).reversed()
+            .thenComparing(i -> keyOf.apply(scenarios.get(i))));
+
+        long[] loads = new long[count];
+        int[] assignment = new int[scenarios.size()];
+        for (int i : order) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            assignment[i] = lightest;
+            loads[lightest] += durations[i];
+        }
+        return assignment;
+    }
+
+    private static long stableHash(String key) {
+        // FNV-1a over UTF-8, identical on every JVM
+        long h = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,133 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Compiles each JSON Schema once and shares it across threads
+ * <p>
+ * Schemas are read from {@code schema.path/<name>.json} on first use and kept as immutable,
+ * thread-safe compiled validators. When the document is an array, each element is validated
+ * against the schema, in parallel once the array reaches schema.parallel.threshold elements,
+ * and every violation is reported with its element index and JSON pointer.
+ */
+public class SchemaRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaRegistry.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static volatile SchemaRegistry instance;
+
+    private final Path directory;
+    private final int parallelThreshold;
+    private final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+    private final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    public SchemaRegistry(Path directory, int parallelThreshold) {
+        this.directory = directory;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public static SchemaRegistry getInstance() {
+        if (instance == null) {
+            synchronized (SchemaRegistry.class) {
+                if (instance == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    instance = new SchemaRegistry(Paths.get(config.getSchemaPath()), config.getSchemaParallelThreshold());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Compiled schema by name, loading it on first use
+     */
+    public JsonSchema getSchema(String name) {
+        return schemas.computeIfAbsent(name, this::compile);
+    }
+
+    /**
+     * Violations of the document against the named schema; empty when valid
+     */
+    public List<String> validate(JsonNode document, String name) {
+        JsonSchema schema = getSchema(name);
+        if (!document.isArray()) {
+            return violations(schema, document, "");
+        }
+
+        int size = document.size();
+        IntStream indexes = IntStream.range(0, size);
+        if (size >= parallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        // An ordered stream collects per element, so the report stays in document order
+        List<List<String>> perElement = indexes
+            .mapToObj(i -> violations(schema, document.get(i), "[" + i + "]"))
+            .toList();
+
+        List<String> violations = new ArrayList<>();
+        for (List<String> elementViolations : perElement) {
+            violations.addAll(elementViolations);
+        }
+        return violations;
+    }
+
+    /**
+     * Parse and validate a JSON stream against the named schema
+     */
+    public List<String> validate(InputStream json, String name) {
+        try (InputStream in = json) {
+            return validate(objectMapper.readTree(in), name);
+        } catch (IOException e) {
+            logger.error("Failed to parse document for schema: {}", name, e);
+            throw new RuntimeException("Schema validation failed", e);
+        }
+    }
+
+    private JsonSchema compile(String name) {
+        Path file = directory.resolve(name + ".json");
+        try {
+            JsonSchema schema = factory.getJsonSchema(objectMapper.readTree(file.toFile()));
+            logger.info("Compiled JSON schema: {}", file);
+            return schema;
+        } catch (IOException | ProcessingException e) {
+            logger.error("Failed to load JSON schema: {}", file, e);
+            throw new RuntimeException("Schema load failed", e);
+        }
+    }
+
+    private static List<String> violations(JsonSchema schema, JsonNode node, String prefix) {
+        try {
+            ProcessingReport report = schema.validateUnchecked(node);
+            if (report.isSuccess()) {
+                return List.of();
+            }
+            List<String> violations = new ArrayList<>();
+            for (ProcessingMessage message : report) {
+                String pointer = message.asJson().path("instance").path("pointer").asText();
+                violations.add(prefix + (pointer.isEmpty() ? "/" : pointer) + ": " + message.getMessage());
+            }
+            return violations;
+        } catch (RuntimeException e) {
+            logger.error("Schema validation error at {}", prefix, e);
+            return List.of(prefix + "/: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.automation.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Combines the reports of a sharded run into one set
+ * <p>
+ * Expects one directory per shard under the shards directory, each holding {@code Cucumber.json},
+ * {@code allure-results/} and {@code reports/}. Cucumber features are merged by URI with their
+ * scenarios in line order, each still preceded by its background; Allure result files are
+ * collected into one results directory, and latency reports are merged per key with their
+ * histograms combined, so merged percentiles are exact rather than averages of shard percentiles.
+ * <p>
+ * Usage: {@code ShardReportMerger <shardsDir> <outputDir>}
+ */
+public class ShardReportMerger {
+    private static final Logger logger = LoggerFactory.getLogger(ShardReportMerger.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String CUCUMBER_JSON = "Cucumber.json";
+    private static final String ALLURE_RESULTS = "allure-results";
+    private static final String REPORTS = "reports";
+
+    /**
+     * Latency report file prefix and the field that identifies an entry
+     */
+    private static final Map<String, String> LATENCY_REPORTS = Map.of("query_timings", "sql", "api_latency", "endpoint");
+
+    private final Path shardsDirectory;
+    private final Path outputDirectory;
+
+    public ShardReportMerger(Path shardsDirectory, Path outputDirectory) {
+        this.shardsDirectory = shardsDirectory;
+        this.outputDirectory = outputDirectory;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: ShardReportMerger <shardsDir> <outputDir>");
+            System.exit(2);
+        }
+        new ShardReportMerger(Paths.get(args[0]), Paths.get(args[1])).merge();
+    }
+
+    /**
+     * Merge every report type found in the shard directories
+     */
+    public void merge() {
+        try {
+            List<Path> shards = shardDirectories();
+            Files.createDirectories(outputDirectory);
+            mergeCucumberJson(shards);
+            mergeAllureResults(shards);
+            for (Map.Entry<String, String> report : LATENCY_REPORTS.entrySet()) {
+                mergeLatencyReports(shards, report.getKey(), report.getValue());
+            }
+            logger.info("Merged reports of {} shards into {}", shards.size(), outputDirectory);
+        } catch (IOException e) {
+            logger.error("Failed to merge shard reports from: {}", shardsDirectory, e);
+            throw new RuntimeException("Shard report merge failed", e);
+        }
+    }
+
+    private List<Path> shardDirectories() throws IOException {
+        try (Stream<Path> entries = Files.list(shardsDirectory)) {
+            return entries.filter(Files::isDirectory)
+                .filter(dir -> !dir.toAbsolutePath().normalize().equals(outputDirectory.toAbsolutePath().normalize()))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private void mergeCucumberJson(List<Path> shards) throws IOException {
+        Map<String, ObjectNode> features = new LinkedHashMap<>();
+        int files = 0;
+        for (Path shard : shards) {
+            Path file = shard.resolve(CUCUMBER_JSON);
+            if (!Files.exists(file) || Files.size(file) == 0) {
+                continue;
+            }
+            files++;
+            for (JsonNode feature : objectMapper.readTree(file.toFile())) {
+                String uri = feature.path("uri").asText();
+                ObjectNode merged = features.get(uri);
+                if (merged == null) {
+                    features.put(uri, ((ObjectNode) feature).deepCopy());
+                } else if (feature.has("elements")) {
+                    ArrayNode elements = merged.withArray("elements");
+                    feature.get("elements").forEach(elements::add);
+                }
+            }
+        }
+        if (files == 0) {
+            return;
+        }
+
+        ArrayNode output = objectMapper.createArrayNode();
+        for (ObjectNode feature : features.values()) {
+            if (feature.has("elements")) {
+                List<JsonNode> elements = inScenarioOrder(feature.get("elements"));
+                feature.putArray("elements").addAll(elements);
+            }
+            output.add(feature);
+        }
+        objectMapper.writeValue(outputDirectory.resolve(CUCUMBER_JSON).toFile(), output);
+        logger.info("Merged {} Cucumber JSON files into {} features", files, features.size());
+    }
+
+    /**
+     * Elements sorted by scenario line, each scenario still preceded by the background run before it
+     */
+    private static List<JsonNode> inScenarioOrder(JsonNode elements) {
+        List<List<JsonNode>> runs = new ArrayList<>();
+        List<JsonNode> pending = new ArrayList<>();
+        for (JsonNode element : elements) {
+            pending.add(element);
+            if (!"background".equals(element.path("type").asText())) {
+                runs.add(pending);
+                pending = new ArrayList<>();
+            }
+        }
+        if (!pending.isEmpty()) {
+            runs.add(pending);
+        }
+        runs.sort(Comparator.comparingInt(run -> run.get(run.size() - 1).path("line").asInt()));
+        return runs.stream().flatMap(List::stream).toList();
+    }
+
+    private void mergeAllureResults(List<Path> shards) throws IOException {
+        Path target = outputDirectory.resolve(ALLURE_RESULTS);
+        int copied = 0;
+        for (Path shard : shards) {
+            Path results = shard.resolve(ALLURE_RESULTS);
+            if (!Files.isDirectory(results)) {
+                continue;
+            }
+            Files.createDirectories(target);
+            try (Stream<Path> files = Files.list(results)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    // Result files are named by UUID; shared files such as environment.properties are kept once
+                    Path destination = target.resolve(file.getFileName().toString());
+                    if (!Files.exists(destination)) {
+                        Files.copy(file, destination, StandardCopyOption.COPY_ATTRIBUTES);
+                        copied++;
+                    }
+                }
+            }
+        }
+        if (copied > 0) {
+            logger.info("Collected {} Allure result files into {}", copied, target);
+        }
+    }
+
+    private void mergeLatencyReports(List<Path> shards, String prefix, String keyField) throws IOException {
+        Map<Object, Map<String, Object>> merged = new LinkedHashMap<>();
+        Map<Object, Map<String, LatencyHistogram>> histograms = new LinkedHashMap<>();
+        int files = 0;
+        for (Path shard : shards) {
+            Path reports = shard.resolve(REPORTS);
+            if (!Files.isDirectory(reports)) {
+                continue;
+            }
+            List<Path> matching;
+            try (Stream<Path> entries = Files.list(reports)) {
+                matching = entries.filter(file -> file.getFileName().toString().startsWith(prefix + "_")
+                    && file.getFileName().toString().endsWith(".json")).sorted().toList();
+            }
+            for (Path file : matching) {
+                files++;
+                List<Map<String, Object>> entries = objectMapper.readValue(file.toFile(),
+                    new TypeReference<List<Map<String, Object>>>() { });
+                for (Map<String, Object> entry : entries) {
+                    mergeEntry(entry, keyField, merged, histograms);
+                }
+            }
+        }
+        if (files == 0) {
+            return;
+        }
+
+        merged.forEach((key, entry) ->
+            histograms.get(key).forEach((field, histogram) -> entry.put(field, histogram.toSummary())));
+        Path output = outputDirectory.resolve(REPORTS).resolve(prefix + "_merged.json");
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), new ArrayList<>(merged.values()));
+        logger.info("Merged {} {} reports into {} entries: {}", files, prefix, merged.size(), output);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void mergeEntry(Map<String, Object> entry, String keyField, Map<Object, Map<String, Object>> merged,
+                                   Map<Object, Map<String, LatencyHistogram>> histograms) {
+        Object key = entry.get(keyField);
+        Map<String, Object> target = merged.computeIfAbsent(key, k -> new LinkedHashMap<>());
+        Map<String, LatencyHistogram> targetHistograms = histograms.computeIfAbsent(key, k -> new LinkedHashMap<>());
+        entry.forEach((field, value) -> {
+            if (value instanceof Map<?, ?> summary && summary.get("histogram") instanceof Map<?, ?> snapshot) {
+                targetHistograms.computeIfAbsent(field, f -> new LatencyHistogram())
+                    .merge(LatencyHistogram.fromSnapshot((Map<String, ?>) snapshot));
+                target.putIfAbsent(field, null);
+            } else if (value instanceof Number number && !field.equals(keyField)) {
+                Object current = target.get(field);
+                target.put(field, current instanceof Number sum
+                    ? (number instanceof Double || sum instanceof Double
+                        ? (Object) (sum.doubleValue() + number.doubleValue())
+                        : (Object) (sum.longValue() + number.longValue()))
+                    : number);
+            } else {
+                target.putIfAbsent(field, value);
+            }
+        });
+    }
+}
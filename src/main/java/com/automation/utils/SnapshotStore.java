@@ -0,0 +1,362 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Golden JSON snapshots compared by structural hash
+ * <p>
+ * A snapshot is the canonical form of a response: volatile fields (snapshot.ignored.fields, at any
+ * depth) removed and object keys sorted, stored as {@code snapshot.path/<name>.json}. The store
+ * keeps each snapshot's root hash in {@code index.json}, loaded on first use, so a matching
+ * response costs one streaming hash pass over its tokens, without building a tree, and the
+ * snapshot file itself is never read. Only on a mismatch are both documents parsed and diffed,
+ * descending only into subtrees whose hashes differ.
+ */
+public class SnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String INDEX_FILE = "index.json";
+    private static final long SEED_OBJECT = 0x6A09E667F3BCC908L;
+    private static final long SEED_ARRAY = 0xBB67AE8584CAA73BL;
+    private static final long SEED_TEXT = 0x3C6EF372FE94F82BL;
+    private static final long SEED_NUMBER = 0xA54FF53A5F1D36F1L;
+    private static final long SEED_OTHER = 0x510E527FADE682D1L;
+    private static volatile SnapshotStore instance;
+
+    private final Path directory;
+    private final Set<String> ignoredFields;
+    private volatile Map<String, IndexEntry> index;
+
+    /**
+     * Root hash of a stored snapshot with the file size and time it was computed from
+     */
+    public record IndexEntry(String hash, long size, long modifiedMillis) {
+    }
+
+    /**
+     * Outcome of comparing a response with its snapshot
+     */
+    public record Comparison(String name, boolean matched, boolean recorded, List<String> differences) {
+    }
+
+    public SnapshotStore(Path directory, Set<String> ignoredFields) {
+        this.directory = directory;
+        this.ignoredFields = Set.copyOf(ignoredFields);
+    }
+
+    public static SnapshotStore getInstance() {
+        if (instance == null) {
+            synchronized (SnapshotStore.class) {
+                if (instance == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    instance = new SnapshotStore(Paths.get(config.getSnapshotPath()),
+                        Arrays.stream(config.getSnapshotIgnoredFields().split(","))
+                            .map(String::trim).filter(field -> !field.isEmpty()).collect(Collectors.toSet()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Compare a JSON document with the named snapshot. A missing snapshot is recorded when
+     * recordMissing is set, and every snapshot is rewritten when update is set. The body is
+     * opened once for the hash and once more only when it has to be parsed
+     */
+    public Comparison compare(String name, Supplier<InputStream> body, boolean recordMissing, boolean update) {
+        Path file = snapshotFile(name);
+        IndexEntry entry = indexEntry(name, file);
+        if (entry == null || update) {
+            if (!recordMissing && !update) {
+                return new Comparison(name, false, false, List.of("snapshot " + file
+                    + " does not exist; run with -Dsnapshot.update=true to record it"));
+            }
+            JsonNode actual = parse(name, body.get());
+            record(name, file, actual, hash(actual, null));
+            return new Comparison(name, true, true, List.of());
+        }
+
+        long actualHash;
+        try (InputStream in = body.get(); JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            parser.nextToken();
+            actualHash = hash(parser);
+        } catch (IOException e) {
+            logger.error("Failed to read response for snapshot: {}", name, e);
+            throw new RuntimeException("Snapshot comparison failed", e);
+        }
+        if (entry.hash().equals(Long.toHexString(actualHash))) {
+            return new Comparison(name, true, false, List.of());
+        }
+
+        JsonNode expected = load(file);
+        JsonNode actual = parse(name, body.get());
+        Map<JsonNode, Long> expectedHashes = new IdentityHashMap<>();
+        Map<JsonNode, Long> actualHashes = new IdentityHashMap<>();
+        hash(expected, expectedHashes);
+        hash(actual, actualHashes);
+        List<String> differences = new ArrayList<>();
+        diff("$", expected, actual, expectedHashes, actualHashes, differences);
+        return new Comparison(name, differences.isEmpty(), false, differences);
+    }
+
+    /**
+     * Canonical form of a document: ignored fields removed and object keys sorted
+     */
+    public JsonNode canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode canonical = objectMapper.createObjectNode();
+            new TreeSet<>(fieldNames(node)).forEach(field -> canonical.set(field, canonicalize(node.get(field))));
+            return canonical;
+        }
+        if (node.isArray()) {
+            ArrayNode canonical = objectMapper.createArrayNode();
+            node.forEach(element -> canonical.add(canonicalize(element)));
+            return canonical;
+        }
+        return node;
+    }
+
+    private IndexEntry indexEntry(String name, Path file) {
+        Map<String, IndexEntry> entries = index();
+        IndexEntry entry = entries.get(name);
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            if (entry == null || entry.size() != size || entry.modifiedMillis() != modified) {
+                // Snapshot added or edited by hand since the index was written
+                entry = new IndexEntry(Long.toHexString(hash(load(file), null)), size, modified);
+                entries.put(name, entry);
+            }
+            return entry;
+        } catch (IOException e) {
+            logger.error("Failed to read snapshot: {}", file, e);
+            throw new RuntimeException("Snapshot comparison failed", e);
+        }
+    }
+
+    private Map<String, IndexEntry> index() {
+        if (index == null) {
+            synchronized (this) {
+                if (index == null) {
+                    Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+                    Path indexFile = directory.resolve(INDEX_FILE);
+                    if (Files.exists(indexFile)) {
+                        try {
+                            entries.putAll(objectMapper.readValue(indexFile.toFile(),
+                                new TypeReference<Map<String, IndexEntry>>() { }));
+                        } catch (IOException e) {
+                            logger.warn("Ignoring unreadable snapshot index {}: {}", indexFile, e.getMessage());
+                        }
+                    }
+                    logger.info("Loaded snapshot index with {} entries from {}", entries.size(), directory);
+                    index = entries;
+                }
+            }
+        }
+        return index;
+    }
+
+    private synchronized void record(String name, Path file, JsonNode actual, long hash) {
+        try {
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), canonicalize(actual));
+            index().put(name, new IndexEntry(Long.toHexString(hash), Files.size(file),
+                Files.getLastModifiedTime(file).toMillis()));
+            objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(directory.resolve(INDEX_FILE).toFile(), new TreeMap<>(index()));
+            logger.info("Recorded snapshot: {}", file);
+        } catch (IOException e) {
+            logger.error("Failed to record snapshot: {}", file, e);
+            throw new RuntimeException("Snapshot recording failed", e);
+        }
+    }
+
+    private JsonNode load(Path file) {
+        try {
+            return objectMapper.readTree(file.toFile());
+        } catch (IOException e) {
+            logger.error("Failed to load snapshot: {}", file, e);
+            throw new RuntimeException("Snapshot load failed", e);
+        }
+    }
+
+    private static JsonNode parse(String name, InputStream json) {
+        try (InputStream in = json) {
+            return objectMapper.readTree(in);
+        } catch (IOException e) {
+            logger.error("Failed to parse response for snapshot: {}", name, e);
+            throw new RuntimeException("Snapshot comparison failed", e);
+        }
+    }
+
+    private Path snapshotFile(String name) {
+        return directory.resolve(name + ".json");
+    }
+
+    /**
+     * Order-independent for object keys, order-dependent for arrays; subtree hashes are
+     * memoized in hashes when given
+     */
+    private long hash(JsonNode node, Map<JsonNode, Long> hashes) {
+        long h;
+        if (node.isObject()) {
+            // Sum of per-field hashes, so key order does not matter and no sort is needed
+            h = SEED_OBJECT;
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!ignoredFields.contains(field.getKey())) {
+                    h += mix(hashText(field.getKey()) ^ Long.rotateLeft(hash(field.getValue(), hashes), 17));
+                }
+            }
+            h = mix(h);
+        } else if (node.isArray()) {
+            h = SEED_ARRAY;
+            for (JsonNode element : node) {
+                h = mix(h * 31 + hash(element, hashes));
+            }
+            h = mix(h ^ node.size());
+        } else if (node.isNumber()) {
+            h = mix(SEED_NUMBER ^ hashText(node.decimalValue().stripTrailingZeros().toPlainString()));
+        } else if (node.isTextual()) {
+            h = mix(SEED_TEXT ^ hashText(node.textValue()));
+        } else {
+            h = mix(SEED_OTHER ^ hashText(node.asText()));
+        }
+        if (hashes != null) {
+            hashes.put(node, h);
+        }
+        return h;
+    }
+
+    /**
+     * The same hash as {@link #hash(JsonNode, Map)}, computed from the tokens of the value at
+     * the parser's current token
+     */
+    private long hash(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            long h = SEED_OBJECT;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (ignoredFields.contains(field)) {
+                    parser.skipChildren();
+                } else {
+                    h += mix(hashText(field) ^ Long.rotateLeft(hash(parser), 17));
+                }
+            }
+            return mix(h);
+        }
+        if (token == JsonToken.START_ARRAY) {
+            long h = SEED_ARRAY;
+            int size = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                h = mix(h * 31 + hash(parser));
+                size++;
+            }
+            return mix(h ^ size);
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return mix(SEED_NUMBER ^ hashText(parser.getDecimalValue().stripTrailingZeros().toPlainString()));
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return mix(SEED_TEXT ^ hashText(parser.getText()));
+        }
+        return mix(SEED_OTHER ^ hashText(parser.getText()));
+    }
+
+    private void diff(String path, JsonNode expected, JsonNode actual, Map<JsonNode, Long> expectedHashes,
+                      Map<JsonNode, Long> actualHashes, List<String> differences) {
+        if (expectedHashes.get(expected).equals(actualHashes.get(actual))) {
+            return;
+        }
+        if (expected.isObject() && actual.isObject()) {
+            Set<String> fields = new TreeSet<>(fieldNames(expected));
+            fields.addAll(fieldNames(actual));
+            for (String field : fields) {
+                String fieldPath = path + "." + field;
+                if (!expected.has(field)) {
+                    differences.add(fieldPath + ": unexpected " + abbreviate(actual.get(field)));
+                } else if (!actual.has(field)) {
+                    differences.add(fieldPath + ": missing, expected " + abbreviate(expected.get(field)));
+                } else {
+                    diff(fieldPath, expected.get(field), actual.get(field), expectedHashes, actualHashes, differences);
+                }
+            }
+        } else if (expected.isArray() && actual.isArray()) {
+            int common = Math.min(expected.size(), actual.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "[" + i + "]", expected.get(i), actual.get(i), expectedHashes, actualHashes, differences);
+            }
+            if (expected.size() != actual.size()) {
+                differences.add(String.format("%s: expected %d elements but was %d", path, expected.size(), actual.size()));
+            }
+        } else {
+            differences.add(path + ": expected " + abbreviate(expected) + " but was " + abbreviate(actual));
+        }
+    }
+
+    private List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(name -> {
+            if (!ignoredFields.contains(name)) {
+                names.add(name);
+            }
+        });
+        return names;
+    }
+
+    private static String abbreviate(JsonNode node) {
+        String text = node.toString();
+        return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+    }
+
+    private static long hashText(String text) {
+        // FNV-1a over UTF-16 code units
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        // Finalizer from MurmurHash3
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC5L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,299 @@
+package com.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Suite-level background retention for the local storage directory
+ * <p>
+ * One daemon thread walks the directory tree once, then keeps an age-ordered index of its files
+ * up to date from file system watch events instead of listing and stat-ing everything again.
+ * Each sweep deletes, oldest first, files older than the maximum age and, while the total size
+ * or file count exceeds its limit, files left by earlier runs. Deletes run in bounded batches.
+ * Files with an excluded extension (the archive's own segments and indexes) are never touched.
+ * <p>
+ * The index is only accessed from the janitor thread, so it needs no locking.
+ */
+public class StorageJanitor implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(StorageJanitor.class);
+
+    private final Path root;
+    private final long maxAgeMillis;
+    private final long maxTotalBytes;
+    private final int maxFiles;
+    private final int batchSize;
+    private final long intervalMillis;
+    private final Set<String> excludedExtensions;
+    private final long suiteStartMillis = System.currentTimeMillis();
+
+    private final Map<Path, FileEntry> files = new HashMap<>();
+    private final TreeSet<FileEntry> byAge = new TreeSet<>(
+        Comparator.comparingLong(FileEntry::modifiedMillis).thenComparing(FileEntry::path));
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final ScheduledExecutorService executor;
+    private WatchService watchService;
+    private long totalBytes;
+
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong deletedFiles = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final AtomicLong failedDeletes = new AtomicLong();
+    private final AtomicLong rescans = new AtomicLong();
+
+    /**
+     * @param maxTotalBytes 0 for no size limit
+     * @param maxFiles      0 for no file count limit
+     */
+    public StorageJanitor(Path root, long maxAgeMillis, long maxTotalBytes, int maxFiles, int batchSize,
+                          long intervalMillis, Set<String> excludedExtensions) {
+        this.root = root;
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxTotalBytes = maxTotalBytes;
+        this.maxFiles = maxFiles;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+        this.excludedExtensions = excludedExtensions;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-janitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Build the index in the background and schedule periodic sweeps
+     */
+    public void start() {
+        executor.execute(this::initialize);
+        executor.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Storage janitor started for {} (max age {} ms, max size {} bytes, max files {})",
+            root, maxAgeMillis, maxTotalBytes, maxFiles);
+    }
+
+    /**
+     * Stop sweeping; a batch already in progress is allowed to finish
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close storage watch service: {}", e.getMessage());
+            }
+        }
+        logger.info("Storage janitor stopped: {}", getMetrics());
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sweeps", sweeps.get());
+        metrics.put("rescans", rescans.get());
+        metrics.put("deletedFiles", deletedFiles.get());
+        metrics.put("reclaimedBytes", reclaimedBytes.get());
+        metrics.put("failedDeletes", failedDeletes.get());
+        return metrics;
+    }
+
+    private void initialize() {
+        try {
+            Files.createDirectories(root);
+            watchService = root.getFileSystem().newWatchService();
+            indexTree(root);
+            logger.info("Storage janitor indexed {} files ({} bytes) under {}", files.size(), totalBytes, root);
+        } catch (IOException e) {
+            logger.error("Failed to index storage directory: {}", root, e);
+        }
+        sweep();
+    }
+
+    private void sweep() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            applyWatchEvents();
+            deleteBatch();
+            sweeps.incrementAndGet();
+        } catch (ClosedWatchServiceException e) {
+            // shutting down
+        } catch (Exception e) {
+            logger.error("Storage janitor sweep failed", e);
+        }
+    }
+
+    private void applyWatchEvents() throws IOException {
+        boolean overflow = false;
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                    overflow = true;
+                    continue;
+                }
+                Path child = directory.resolve((Path) event.context());
+                if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                    untrackTree(child);
+                } else if (Files.isDirectory(child)) {
+                    indexTree(child);
+                } else {
+                    refresh(child);
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+        if (overflow) {
+            rescans.incrementAndGet();
+            files.clear();
+            byAge.clear();
+            totalBytes = 0;
+            indexTree(root);
+        }
+    }
+
+    /**
+     * Delete up to one batch of files, oldest first; schedules another batch right away if more are due
+     */
+    private void deleteBatch() {
+        long expiryCutoff = System.currentTimeMillis() - maxAgeMillis;
+        long projectedBytes = totalBytes;
+        int projectedFiles = files.size();
+        List<FileEntry> batch = new ArrayList<>();
+
+        for (FileEntry entry : byAge) {
+            boolean expired = entry.modifiedMillis() < expiryCutoff;
+            boolean overLimit = (maxTotalBytes > 0 && projectedBytes > maxTotalBytes)
+                || (maxFiles > 0 && projectedFiles > maxFiles);
+            // Size and count limits never evict output of the running suite
+            boolean evictable = overLimit && entry.modifiedMillis() < suiteStartMillis;
+            if (!expired && !evictable) {
+                break;
+            }
+            if (batch.size() == batchSize) {
+                executor.execute(this::deleteBatch);
+                break;
+            }
+            batch.add(entry);
+            projectedBytes -= entry.size();
+            projectedFiles--;
+        }
+
+        for (FileEntry entry : batch) {
+            try {
+                Files.deleteIfExists(entry.path());
+                deletedFiles.incrementAndGet();
+                reclaimedBytes.addAndGet(entry.size());
+                logger.debug("Deleted old file: {}", entry.path());
+            } catch (IOException e) {
+                failedDeletes.incrementAndGet();
+                logger.warn("Failed to delete old file: {} ({})", entry.path(), e.getMessage());
+            }
+            untrack(entry.path());
+        }
+        if (!batch.isEmpty()) {
+            logger.info("Storage janitor deleted {} files, {} remaining ({} bytes)",
+                batch.size(), files.size(), totalBytes);
+        }
+    }
+
+    private void indexTree(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                watchedDirectories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                track(file, attrs);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void refresh(Path file) {
+        try {
+            track(file, Files.readAttributes(file, BasicFileAttributes.class));
+        } catch (IOException e) {
+            untrack(file);
+        }
+    }
+
+    private void track(Path file, BasicFileAttributes attrs) {
+        if (!attrs.isRegularFile() || isExcluded(file)) {
+            return;
+        }
+        untrack(file);
+        FileEntry entry = new FileEntry(file, attrs.lastModifiedTime().toMillis(), attrs.size());
+        files.put(file, entry);
+        byAge.add(entry);
+        totalBytes += entry.size();
+    }
+
+    private void untrack(Path file) {
+        FileEntry previous = files.remove(file);
+        if (previous != null) {
+            byAge.remove(previous);
+            totalBytes -= previous.size();
+        }
+    }
+
+    private void untrackTree(Path path) {
+        if (files.containsKey(path)) {
+            untrack(path);
+            return;
+        }
+        new ArrayList<>(files.keySet()).stream().filter(file -> file.startsWith(path)).forEach(this::untrack);
+    }
+
+    private boolean isExcluded(Path file) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && excludedExtensions.contains(fileName.substring(dot + 1));
+    }
+
+    private record FileEntry(Path path, long modifiedMillis, long size) {
+    }
+}
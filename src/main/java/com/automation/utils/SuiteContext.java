@@ -0,0 +1,131 @@
+package com.automation.utils;
+
+import com.automation.base.BaseTest;
+import com.automation.config.ConfigManager;
+import com.automation.pojo.User;
+import com.automation.pom.BasePOM;
+import com.automation.pom.PostPOM;
+import com.automation.pom.UserPOM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the suite-scoped instances of the thread-safe components shared by all scenarios
+ * Step definitions are created per scenario; taking the POMs and FileManager from here instead of
+ * constructing them keeps RestAssured setup and directory creation out of every scenario.
+ * {@link #warmUp()} builds everything at suite start and measures each phase; components are also
+ * built on first use if the suite was not warmed up.
+ */
+public final class SuiteContext {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteContext.class);
+    private static volatile Components components;
+    private static volatile StartupReport startupReport;
+
+    private SuiteContext() {
+        // Utility class
+    }
+
+    private record Components(UserPOM userPOM, PostPOM postPOM, FileManager fileManager) {
+    }
+
+    /**
+     * Duration of each warm-up phase and of the whole warm-up
+     */
+    public record StartupReport(long startedAtMillis, Map<String, Long> phaseMillis, long totalMillis) {
+    }
+
+    /**
+     * Build the shared components; a no-op when they already exist
+     */
+    public static synchronized StartupReport warmUp() {
+        if (components != null) {
+            return startupReport;
+        }
+        long started = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Map<String, Long> phases = new LinkedHashMap<>();
+
+        long phaseStart = System.nanoTime();
+        ConfigManager config = ConfigManager.getInstance();
+        phaseStart = phase(phases, "config", phaseStart);
+
+        new BaseTest().setupRestAssured();
+        phaseStart = phase(phases, "specifications", phaseStart);
+
+        UserPOM userPOM = new UserPOM();
+        PostPOM postPOM = new PostPOM();
+        phaseStart = phase(phases, "poms", phaseStart);
+
+        FileManager fileManager = new FileManager();
+        fileManager.createDirectory(config.getLocalStoragePath());
+        fileManager.createDirectory(config.getReportPath());
+        phaseStart = phase(phases, "directories", phaseStart);
+
+        if (config.isSchemaValidationEnabled()) {
+            for (BasePOM pom : new BasePOM[]{userPOM, postPOM}) {
+                SchemaRegistry.getInstance().getSchema(pom.getSchemaName());
+            }
+            phaseStart = phase(phases, "schemas", phaseStart);
+        }
+
+        // Loads Jackson's serializers for the POJOs before the first scenario needs them
+        TestDataUtils.toJsonString(new User());
+        phase(phases, "jackson", phaseStart);
+
+        components = new Components(userPOM, postPOM, fileManager);
+        startupReport = new StartupReport(started, phases, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Suite warm-up took {} ms: {}", startupReport.totalMillis(), phases);
+        return startupReport;
+    }
+
+    public static UserPOM getUserPOM() {
+        return components().userPOM();
+    }
+
+    public static PostPOM getPostPOM() {
+        return components().postPOM();
+    }
+
+    public static FileManager getFileManager() {
+        return components().fileManager();
+    }
+
+    /**
+     * The warm-up measurements, or null if the suite was not warmed up
+     */
+    public static StartupReport getStartupReport() {
+        return startupReport;
+    }
+
+    /**
+     * Release the shared components and RestAssured's global configuration at suite end
+     */
+    public static synchronized void tearDown() {
+        Components current = components;
+        if (current == null) {
+            return;
+        }
+        components = null;
+        current.userPOM().resetRestAssured();
+        logger.info("Suite components released");
+    }
+
+    private static Components components() {
+        Components current = components;
+        if (current == null) {
+            warmUp();
+            current = components;
+        }
+        return current;
+    }
+
+    private static long phase(Map<String, Long> phases, String name, long phaseStart) {
+        long now = System.nanoTime();
+        phases.put(name, (now - phaseStart) / 1_000_000);
+        return now;
+    }
+}
@@ -0,0 +1,376 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Memory-mapped, lazily parsed repository for test data files
+ * <p>
+ * The file is mapped read-only and scanned once, on first access, to build an offset index of its
+ * top-level records without parsing them:
+ * <ul>
+ *   <li>a root JSON array, or a JSON Lines file, forms the unnamed collection {@link #ROOT}</li>
+ *   <li>for a root JSON object, every field is a collection; array fields hold one record per
+ *       element, any other value is a single record (e.g. "users" and "test_scenarios" in
+ *       user_test_data.json)</li>
+ * </ul>
+ * Individual records are parsed on demand. {@link #get} keeps the parsed JSON tree of the most
+ * recently used records (up to test.data.cache.max.records per file) and binds every call to a new
+ * instance, so scenarios never share a mutable POJO; {@link #read} parses the raw bytes each time.
+ * Repositories are shared per file, so memory grows only with the records that are actually used.
+ */
+public class TestDataRepository {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataRepository.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Map<Path, TestDataRepository> repositories = new ConcurrentHashMap<>();
+
+    public static final String ROOT = "";
+
+    private static final int REGION_BITS = 30;
+    private static final long REGION_SIZE = 1L << REGION_BITS;
+
+    private final Path file;
+    private final long length;
+    private final MappedByteBuffer[] regions;
+    private final Map<CacheKey, JsonNode> parsedRecords;
+    private volatile Map<String, RecordOffsets> index;
+
+    private TestDataRepository(Path file) {
+        this.file = file;
+        int maxCachedRecords = ConfigManager.getInstance().getTestDataCacheMaxRecords();
+        this.parsedRecords = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, JsonNode> eldest) {
+                return size() > maxCachedRecords;
+            }
+        });
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            this.length = channel.size();
+            int regionCount = (int) ((length + REGION_SIZE - 1) / REGION_SIZE);
+            this.regions = new MappedByteBuffer[regionCount];
+            for (int i = 0; i < regionCount; i++) {
+                long position = i * REGION_SIZE;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, length - position));
+            }
+        } catch (IOException e) {
+            logger.error("Failed to map test data file: {}", file, e);
+            throw new RuntimeException("Test data mapping failed", e);
+        }
+        logger.info("Test data file mapped: {} ({} bytes)", file, length);
+    }
+
+    /**
+     * Get the shared repository for a file under the configured test data path
+     */
+    public static TestDataRepository forFile(String fileName) {
+        return open(Paths.get(ConfigManager.getInstance().getTestDataPath(), fileName));
+    }
+
+    /**
+     * Get the shared repository for a file, mapping it on first use
+     */
+    public static TestDataRepository open(Path file) {
+        return repositories.computeIfAbsent(file.toAbsolutePath().normalize(), TestDataRepository::new);
+    }
+
+    public Set<String> getCollections() {
+        return Collections.unmodifiableSet(index().keySet());
+    }
+
+    /**
+     * Number of records in a collection, 0 if the collection does not exist
+     */
+    public int size(String collection) {
+        RecordOffsets offsets = index().get(collection);
+        return offsets == null ? 0 : offsets.size;
+    }
+
+    /**
+     * Get a record as a new instance owned by the caller, bound from the cached JSON tree
+     */
+    public <T> T get(String collection, int position, Class<T> type) {
+        CacheKey key = new CacheKey(collection, position);
+        JsonNode tree = parsedRecords.get(key);
+        try {
+            if (tree == null) {
+                tree = objectMapper.readTree(rawBytes(collection, position));
+                parsedRecords.put(key, tree);
+            }
+            return objectMapper.treeToValue(tree, type);
+        } catch (IOException e) {
+            logger.error("Failed to parse record {}[{}] in {}", collection, position, file, e);
+            throw new RuntimeException("Test data parsing failed", e);
+        }
+    }
+
+    /**
+     * Deserialize a record into a new instance owned by the caller
+     */
+    public <T> T read(String collection, int position, Class<T> type) {
+        try {
+            return objectMapper.readValue(rawBytes(collection, position), type);
+        } catch (IOException e) {
+            logger.error("Failed to parse record {}[{}] in {}", collection, position, file, e);
+            throw new RuntimeException("Test data parsing failed", e);
+        }
+    }
+
+    /**
+     * Get the raw JSON text of a record
+     */
+    public String getRaw(String collection, int position) {
+        return new String(rawBytes(collection, position), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lazily stream every record of a collection as new instances (see {@link #get})
+     */
+    public <T> Stream<T> stream(String collection, Class<T> type) {
+        return IntStream.range(0, size(collection)).mapToObj(position -> get(collection, position, type));
+    }
+
+    private byte[] rawBytes(String collection, int position) {
+        RecordOffsets offsets = index().get(collection);
+        if (offsets == null || position < 0 || position >= offsets.size) {
+            throw new IndexOutOfBoundsException("No record " + collection + "[" + position + "] in " + file);
+        }
+        long start = offsets.starts[position];
+        int recordLength = Math.toIntExact(offsets.ends[position] - start);
+        byte[] bytes = new byte[recordLength];
+        for (int copied = 0; copied < recordLength; ) {
+            long absolute = start + copied;
+            MappedByteBuffer region = regions[(int) (absolute >>> REGION_BITS)];
+            int regionOffset = (int) (absolute & (REGION_SIZE - 1));
+            int chunk = Math.min(recordLength - copied, region.capacity() - regionOffset);
+            region.get(regionOffset, bytes, copied, chunk);
+            copied += chunk;
+        }
+        return bytes;
+    }
+
+    private Map<String, RecordOffsets> index() {
+        Map<String, RecordOffsets> current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    long startTime = System.nanoTime();
+                    current = new Scanner().scan();
+                    index = current;
+                    logger.info("Indexed {} in {} ms: {}", file.getFileName(),
+                        (System.nanoTime() - startTime) / 1_000_000, describe(current));
+                }
+            }
+        }
+        return current;
+    }
+
+    private static String describe(Map<String, RecordOffsets> index) {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        index.forEach((name, offsets) -> sizes.put(name.isEmpty() ? "<root>" : name, offsets.size));
+        return sizes.toString();
+    }
+
+    private byte byteAt(long position) {
+        return regions[(int) (position >>> REGION_BITS)].get((int) (position & (REGION_SIZE - 1)));
+    }
+
+    /**
+     * Single pass structural scanner: tracks strings and nesting depth only, never builds values
+     */
+    private class Scanner {
+        private final Map<String, RecordOffsets> collections = new LinkedHashMap<>();
+
+        Map<String, RecordOffsets> scan() {
+            long position = skipWhitespace(0);
+            if (position >= length) {
+                return collections;
+            }
+            byte first = byteAt(position);
+            boolean jsonLines = file.getFileName().toString().endsWith(".jsonl");
+            if (jsonLines) {
+                scanLines();
+            } else if (first == '[') {
+                scanArray(position, ROOT);
+            } else if (first == '{') {
+                scanObject(position);
+            } else {
+                throw new IllegalArgumentException("Unsupported test data layout in " + file);
+            }
+            return collections;
+        }
+
+        private void scanLines() {
+            RecordOffsets offsets = collection(ROOT);
+            long lineStart = 0;
+            for (long position = 0; position <= length; position++) {
+                if (position == length || byteAt(position) == '\n') {
+                    long start = skipWhitespace(lineStart);
+                    if (start < position) {
+                        long end = position;
+                        while (end > start && isWhitespace(byteAt(end - 1))) {
+                            end--;
+                        }
+                        offsets.add(start, end);
+                    }
+                    lineStart = position + 1;
+                }
+            }
+        }
+
+        private void scanObject(long position) {
+            position = skipWhitespace(position + 1);
+            while (position < length && byteAt(position) != '}') {
+                long keyEnd = skipString(position);
+                String key = decodeKey(position, keyEnd);
+                position = skipWhitespace(keyEnd);
+                position = skipWhitespace(position + 1); // ':'
+                if (byteAt(position) == '[') {
+                    position = scanArray(position, key);
+                } else {
+                    long end = skipValue(position);
+                    collection(key).add(position, end);
+                    position = end;
+                }
+                position = skipWhitespace(position);
+                if (position < length && byteAt(position) == ',') {
+                    position = skipWhitespace(position + 1);
+                }
+            }
+        }
+
+        private long scanArray(long position, String name) {
+            RecordOffsets offsets = collection(name);
+            position = skipWhitespace(position + 1);
+            while (position < length && byteAt(position) != ']') {
+                long end = skipValue(position);
+                offsets.add(position, end);
+                position = skipWhitespace(end);
+                if (position < length && byteAt(position) == ',') {
+                    position = skipWhitespace(position + 1);
+                }
+            }
+            return position + 1;
+        }
+
+        private long skipValue(long position) {
+            byte first = byteAt(position);
+            if (first == '"') {
+                return skipString(position);
+            }
+            if (first == '{' || first == '[') {
+                int depth = 0;
+                while (position < length) {
+                    byte current = byteAt(position);
+                    if (current == '"') {
+                        position = skipString(position);
+                        continue;
+                    }
+                    if (current == '{' || current == '[') {
+                        depth++;
+                    } else if (current == '}' || current == ']') {
+                        if (--depth == 0) {
+                            return position + 1;
+                        }
+                    }
+                    position++;
+                }
+                throw new IllegalArgumentException("Unterminated JSON value in " + file);
+            }
+            while (position < length) {
+                byte current = byteAt(position);
+                if (current == ',' || current == '}' || current == ']' || isWhitespace(current)) {
+                    break;
+                }
+                position++;
+            }
+            return position;
+        }
+
+        /**
+         * @return position just after the closing quote
+         */
+        private long skipString(long position) {
+            position++;
+            while (position < length) {
+                byte current = byteAt(position);
+                if (current == '\\') {
+                    position += 2;
+                } else if (current == '"') {
+                    return position + 1;
+                } else {
+                    position++;
+                }
+            }
+            throw new IllegalArgumentException("Unterminated JSON string in " + file);
+        }
+
+        private String decodeKey(long start, long end) {
+            byte[] quoted = new byte[(int) (end - start)];
+            for (int i = 0; i < quoted.length; i++) {
+                quoted[i] = byteAt(start + i);
+            }
+            try {
+                return objectMapper.readValue(quoted, String.class);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid field name in " + file, e);
+            }
+        }
+
+        private long skipWhitespace(long position) {
+            while (position < length && isWhitespace(byteAt(position))) {
+                position++;
+            }
+            return position;
+        }
+
+        private RecordOffsets collection(String name) {
+            return collections.computeIfAbsent(name, key -> new RecordOffsets());
+        }
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+
+    /**
+     * Growable start/end offset arrays for one collection
+     */
+    private static class RecordOffsets {
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private int size;
+
+        void add(long start, long end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+    }
+
+    private record CacheKey(String collection, int position) {
+    }
+}
@@ -8,53 +8,78 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Test data utility class for generating and manipulating test data
+ * Random values come from ThreadLocalRandom, so parallel scenarios never contend on a shared seed.
+ * After {@link #seedForScenario(long)} the current thread draws from its own SplittableRandom
+ * instead, making a scenario's random data reproducible. Unique ids, and the unique part of
+ * generated emails and usernames, come from a {@link UniqueIdGenerator}.
  */
 public class TestDataUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(TestDataUtils.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final Random random = new Random();
+    private static final ThreadLocal<SplittableRandom> scenarioRandom = new ThreadLocal<>();
+    private static final UniqueIdGenerator idGenerator = new UniqueIdGenerator(UniqueIdGenerator.defaultNodeId());
+    
+    private static final String[] EMAIL_DOMAINS = {"gmail.com", "yahoo.com", "hotmail.com", "email.com", "test.com"};
+    private static final String[] USERNAME_PREFIXES = {"user", "test", "demo", "sample", "auto"};
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Bob", "Alice", "Charlie", "Diana", "Eve", "Frank"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Brown", "Davis", "Miller", "Wilson", "Moore"};
+    private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    
+    /**
+     * Make random data on the current thread deterministic until {@link #clearScenarioSeed()}
+     */
+    public static void seedForScenario(long seed) {
+        scenarioRandom.set(new SplittableRandom(seed));
+    }
+    
+    public static void clearScenarioSeed() {
+        scenarioRandom.remove();
+    }
+    
+    /**
+     * Random source for the current thread: the scenario's seeded generator if set, else ThreadLocalRandom
+     */
+    public static RandomGenerator random() {
+        SplittableRandom seeded = scenarioRandom.get();
+        return seeded != null ? seeded : ThreadLocalRandom.current();
+    }
     
     /**
      * Generate random email address
      */
     public static String generateRandomEmail() {
-        String[] domains = {"gmail.com", "yahoo.com", "hotmail.com", "email.com", "test.com"};
-        String username = "user" + System.currentTimeMillis() + random.nextInt(1000);
-        String domain = domains[random.nextInt(domains.length)];
-        return username + "@" + domain;
+        String domain = EMAIL_DOMAINS[random().nextInt(EMAIL_DOMAINS.length)];
+        return "user" + Long.toString(generateUniqueId(), 36) + "@" + domain;
     }
     
     /**
      * Generate random username
      */
     public static String generateRandomUsername() {
-        String[] prefixes = {"user", "test", "demo", "sample", "auto"};
-        String prefix = prefixes[random.nextInt(prefixes.length)];
-        return prefix + System.currentTimeMillis() + random.nextInt(1000);
+        String prefix = USERNAME_PREFIXES[random().nextInt(USERNAME_PREFIXES.length)];
+        return prefix + Long.toString(generateUniqueId(), 36);
     }
     
     /**
      * Generate random name
      */
     public static String generateRandomName() {
-        String[] firstNames = {"John", "Jane", "Bob", "Alice", "Charlie", "Diana", "Eve", "Frank"};
-        String[] lastNames = {"Doe", "Smith", "Johnson", "Brown", "Davis", "Miller", "Wilson", "Moore"};
-        
-        String firstName = firstNames[random.nextInt(firstNames.length)];
-        String lastName = lastNames[random.nextInt(lastNames.length)];
-        
-        return firstName + " " + lastName;
+        RandomGenerator random = random();
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
     }
     
     /**
      * Generate random phone number
      */
     public static String generateRandomPhoneNumber() {
+        RandomGenerator random = random();
         return String.format("%d-%d-%d", 
             random.nextInt(900) + 100,
             random.nextInt(900) + 100,
@@ -69,10 +94,10 @@ public class TestDataUtils {
     }
     
     /**
-     * Generate unique ID
+     * Generate unique ID: monotonic per JVM and distinct across nodes
      */
     public static long generateUniqueId() {
-        return System.currentTimeMillis() + random.nextInt(1000);
+        return idGenerator.nextId();
     }
     
     /**
@@ -116,11 +141,11 @@ public class TestDataUtils {
      * Generate random string of specified length
      */
     public static String generateRandomString(int length) {
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        StringBuilder sb = new StringBuilder();
+        RandomGenerator random = random();
+        StringBuilder sb = new StringBuilder(length);
         
         for (int i = 0; i < length; i++) {
-            sb.append(characters.charAt(random.nextInt(characters.length())));
+            sb.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
         }
         
         return sb.toString();
@@ -130,14 +155,14 @@ public class TestDataUtils {
      * Generate random integer within range
      */
     public static int generateRandomInt(int min, int max) {
-        return random.nextInt(max - min + 1) + min;
+        return random().nextInt(min, max + 1);
     }
     
     /**
      * Generate random boolean
      */
     public static boolean generateRandomBoolean() {
-        return random.nextBoolean();
+        return random().nextBoolean();
     }
     
     /**
@@ -163,4 +188,12 @@ public class TestDataUtils {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         return String.format("%s_testdata_%s.json", baseName, timestamp);
     }
+    
+    /**
+     * Load a test data record from a file under the test data path
+     * (e.g. "user_test_data.json", "users", 0) into a new instance owned by the caller
+     */
+    public static <T> T loadTestData(String fileName, String collection, int index, Class<T> clazz) {
+        return TestDataRepository.forFile(fileName).get(collection, index, clazz);
+    }
 }
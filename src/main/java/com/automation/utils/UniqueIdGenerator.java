@@ -0,0 +1,68 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic, node-aware 64-bit id generator (Snowflake layout)
+ * <p>
+ * An id is 41 bits of milliseconds since 2024-01-01, 10 bits of node id and a 12 bit sequence.
+ * The millisecond and sequence parts live in one AtomicLong that only ever moves forward, so ids
+ * from one node are strictly increasing and unique without locks; a burst of more than 4096 ids
+ * in one millisecond simply borrows from the next one. Distinct node ids keep parallel JVMs and
+ * machines apart. The node id comes from test.data.node.id, or from the host name and PID.
+ */
+public final class UniqueIdGenerator {
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final AtomicLong state = new AtomicLong();
+
+    public UniqueIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long next = state.updateAndGet(previous -> Math.max(previous + 1, now));
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Node id from test.data.node.id, or derived from the host name and process id when unset.
+     * The derived id is only unlikely, not guaranteed, to differ between JVMs on one host, so
+     * runners that start several JVMs set test.data.node.id explicitly.
+     */
+    public static long defaultNodeId() {
+        int configured = ConfigManager.getInstance().getTestDataNodeId();
+        if (configured > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                "test.data.node.id must be between 0 and " + MAX_NODE_ID + " (or -1 to derive it): " + configured);
+        }
+        if (configured >= 0) {
+            return configured;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return (host.hashCode() * 31L + ProcessHandle.current().pid()) & MAX_NODE_ID;
+    }
+}
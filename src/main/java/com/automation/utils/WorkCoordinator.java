@@ -0,0 +1,293 @@
+package com.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves a queue of scenario keys to worker JVMs over a local socket
+ * <p>
+ * Workers connect at any time, pull one scenario at a time and stream its result back, so fast
+ * workers simply take more scenarios and idle ones never wait on a static split. Each connection
+ * holds at most one scenario in flight, leased for at most leaseMillis; when a connection drops
+ * before its result arrives, or a hung worker lets its lease expire, the scenario goes back to the
+ * front of the queue, until it has been handed out maxAttempts times. The first result reported for
+ * a scenario is kept, even from a worker whose lease has expired.
+ * <p>
+ * Protocol, one tab-separated line per message ({@link WorkQueueClient} is the worker side):
+ * {@code HELLO <worker>} / {@code OK}; {@code NEXT} / {@code RUN <key>}, {@code WAIT} or
+ * {@code DONE}; {@code RESULT <key> <status> <durationMs> <message>} / {@code OK}.
+ */
+public class WorkCoordinator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WorkCoordinator.class);
+    static final String SEPARATOR = "\t";
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "work-coordinator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int total;
+    private final int maxAttempts;
+    private final long leaseMillis;
+    private final Deque<String> queue;
+    private final Map<String, Lease> leases = new HashMap<>();
+    private final Map<String, Integer> attempts = new HashMap<>();
+    private final Map<String, ScenarioResult> results = new LinkedHashMap<>();
+    private final Set<String> workers = new HashSet<>();
+
+    /**
+     * Final outcome of one scenario as reported by a worker, or FAILED when its workers kept dying
+     */
+    public record ScenarioResult(String key, String status, long durationMs, String worker, int attempts,
+                                 String message) {
+        public boolean isPassed() {
+            return "PASSED".equals(status);
+        }
+    }
+
+    /**
+     * A scenario handed to one worker connection until its result arrives or the lease expires
+     */
+    private record Lease(Object connection, String worker, long expiresAtMillis) {
+    }
+
+    /**
+     * Bind the coordinator; port 0 picks a free port (see {@link #getPort()}), leaseMillis 0 leases
+     * without a time limit
+     */
+    public WorkCoordinator(List<String> keys, String host, int port, int maxAttempts, long leaseMillis) {
+        if (new HashSet<>(keys).size() != keys.size()) {
+            throw new IllegalArgumentException("Scenario keys must be unique");
+        }
+        this.total = keys.size();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.leaseMillis = Math.max(0, leaseMillis);
+        this.queue = new ArrayDeque<>(keys);
+        try {
+            this.serverSocket = new ServerSocket(port, 50, InetAddress.getByName(host));
+        } catch (IOException e) {
+            logger.error("Failed to bind work coordinator to {}:{}", host, port, e);
+            throw new RuntimeException("Work coordinator start failed", e);
+        }
+    }
+
+    /**
+     * Start accepting workers
+     */
+    public WorkCoordinator start() {
+        connections.submit(this::acceptLoop);
+        logger.info("Work coordinator serving {} scenarios on {}:{}", total,
+            serverSocket.getInetAddress().getHostAddress(), getPort());
+        return this;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Wait until every scenario has a result, requeueing scenarios whose lease expires meanwhile;
+     * false if the timeout passed first
+     */
+    public synchronized boolean awaitCompletion(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (results.size() < total) {
+            long now = System.currentTimeMillis();
+            expireLeases(now);
+            long wakeUp = leases.values().stream().mapToLong(Lease::expiresAtMillis).min().orElse(deadline);
+            if (deadline <= now) {
+                return false;
+            }
+            wait(Math.min(deadline, wakeUp) - now);
+        }
+        return true;
+    }
+
+    /**
+     * Results received so far, in completion order
+     */
+    public synchronized Map<String, ScenarioResult> getResults() {
+        return new LinkedHashMap<>(results);
+    }
+
+    public synchronized int getWorkerCount() {
+        return workers.size();
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close work coordinator socket", e);
+        }
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.warn("Failed to accept worker connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Object connection = new Object();
+        String worker = socket.getRemoteSocketAddress().toString();
+        String current = null;
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            for (String line; (line = in.readLine()) != null; ) {
+                String[] parts = line.split(SEPARATOR, 5);
+                switch (parts[0]) {
+                    case "HELLO" -> {
+                        worker = parts.length > 1 ? parts[1] : worker;
+                        register(worker);
+                        out.println("OK");
+                    }
+                    case "NEXT" -> {
+                        if (current != null) {
+                            out.println("ERROR" + SEPARATOR + "result of " + current + " not reported");
+                            continue;
+                        }
+                        current = next(connection, worker);
+                        out.println(current != null ? "RUN" + SEPARATOR + current : remainingReply());
+                    }
+                    case "RESULT" -> {
+                        if (parts.length < 4 || !parts[1].equals(current)) {
+                            out.println("ERROR" + SEPARATOR + "no scenario " + (parts.length > 1 ? parts[1] : "")
+                                + " in flight");
+                            continue;
+                        }
+                        complete(connection, new ScenarioResult(current, parts[2], Long.parseLong(parts[3]), worker,
+                            attemptsOf(current), parts.length > 4 ? parts[4] : ""));
+                        current = null;
+                        out.println("OK");
+                    }
+                    default -> out.println("ERROR" + SEPARATOR + "unknown command " + parts[0]);
+                }
+            }
+        } catch (SocketException e) {
+            logger.debug("Worker {} connection closed: {}", worker, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Worker {} connection failed", worker, e);
+        } finally {
+            if (current != null) {
+                release(connection, current, worker);
+            }
+        }
+    }
+
+    private synchronized void register(String worker) {
+        if (workers.add(worker)) {
+            logger.info("Worker {} joined ({} so far, {} scenarios queued)", worker, workers.size(), queue.size());
+        }
+    }
+
+    private synchronized String next(Object connection, String worker) {
+        String key = queue.poll();
+        if (key != null) {
+            long expiresAt = leaseMillis > 0 ? System.currentTimeMillis() + leaseMillis : Long.MAX_VALUE;
+            leases.put(key, new Lease(connection, worker, expiresAt));
+            attempts.merge(key, 1, Integer::sum);
+            // Wake awaitCompletion to watch the new lease
+            notifyAll();
+        }
+        return key;
+    }
+
+    /**
+     * WAIT while another worker may still give a scenario back, DONE once nothing can come back
+     */
+    private synchronized String remainingReply() {
+        return leases.isEmpty() ? "DONE" : "WAIT";
+    }
+
+    private synchronized int attemptsOf(String key) {
+        return attempts.getOrDefault(key, 0);
+    }
+
+    private synchronized void complete(Object connection, ScenarioResult result) {
+        Lease lease = leases.get(result.key());
+        if (lease != null && lease.connection() == connection) {
+            leases.remove(result.key());
+        }
+        if (results.containsKey(result.key())) {
+            logger.info("{} {} on {} after its result was already in; ignored", result.key(), result.status(),
+                result.worker());
+            return;
+        }
+        // A worker whose lease expired may still finish first; its requeued copy is then not needed
+        queue.remove(result.key());
+        results.put(result.key(), result);
+        logger.info("{} {} in {} ms on {} ({}/{})", result.key(), result.status(), result.durationMs(),
+            result.worker(), results.size(), total);
+        notifyAll();
+    }
+
+    /**
+     * A connection closed with a scenario in flight; requeue it unless its lease already moved on
+     */
+    private synchronized void release(Object connection, String key, String worker) {
+        Lease lease = leases.get(key);
+        if (lease != null && lease.connection() == connection) {
+            leases.remove(key);
+            requeue(key, worker, "connection lost");
+        }
+    }
+
+    private synchronized void expireLeases(long now) {
+        List<Map.Entry<String, Lease>> expired = leases.entrySet().stream()
+            .filter(e -> e.getValue().expiresAtMillis() <= now)
+            .toList();
+        for (Map.Entry<String, Lease> e : expired) {
+            leases.remove(e.getKey());
+            requeue(e.getKey(), e.getValue().worker(), "lease expired after " + leaseMillis + " ms");
+        }
+    }
+
+    private synchronized void requeue(String key, String worker, String reason) {
+        if (results.containsKey(key)) {
+            return;
+        }
+        int attempt = attempts.getOrDefault(key, 0);
+        if (attempt >= maxAttempts) {
+            results.put(key, new ScenarioResult(key, "FAILED", 0, worker, attempt,
+                "Worker " + reason + " on all " + attempt + " attempts"));
+            logger.error("Worker {} {} on {}; giving up after {} attempts", worker, reason, key, attempt);
+            notifyAll();
+        } else {
+            queue.addFirst(key);
+            logger.warn("Worker {} {} on {}; requeued (attempt {} of {})", worker, reason, key, attempt,
+                maxAttempts);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Worker side of the {@link WorkCoordinator} protocol: one connection, one scenario in flight
+ */
+public class WorkQueueClient implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WorkQueueClient.class);
+    private static final String SEPARATOR = WorkCoordinator.SEPARATOR;
+    private static final long RETRY_INTERVAL_MS = 200;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final PrintWriter out;
+
+    private WorkQueueClient(Socket socket, String worker) throws IOException {
+        this.socket = socket;
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        request("HELLO" + SEPARATOR + worker);
+    }
+
+    /**
+     * Connect as the named worker, retrying until the coordinator is up or the timeout passes
+     */
+    public static WorkQueueClient connect(String host, int port, String worker, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            try {
+                return new WorkQueueClient(new Socket(host, port), worker);
+            } catch (IOException e) {
+                if (System.currentTimeMillis() >= deadline) {
+                    logger.error("Failed to connect to work coordinator at {}:{}", host, port, e);
+                    throw new RuntimeException("Work coordinator connection failed", e);
+                }
+                sleep();
+            }
+        }
+    }
+
+    /**
+     * The next scenario key to run, or null once the queue is drained
+     * <p>
+     * Blocks while the queue is empty but other workers still have scenarios in flight, since a
+     * crashed worker's scenario comes back to the queue.
+     */
+    public String next() {
+        while (true) {
+            String reply = request("NEXT");
+            if (reply.startsWith("RUN" + SEPARATOR)) {
+                return reply.substring(4);
+            }
+            if (reply.equals("DONE")) {
+                return null;
+            }
+            sleep();
+        }
+    }
+
+    /**
+     * Report the result of the scenario returned by the last {@link #next()}
+     */
+    public void report(String key, String status, long durationMs, String message) {
+        String text = message == null ? "" : message.replaceAll("\\s+", " ");
+        if (text.length() > MAX_MESSAGE_LENGTH) {
+            text = text.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        request("RESULT" + SEPARATOR + key + SEPARATOR + status + SEPARATOR + durationMs + SEPARATOR + text);
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close work coordinator connection", e);
+        }
+    }
+
+    private String request(String message) {
+        try {
+            out.println(message);
+            String reply = in.readLine();
+            if (reply == null) {
+                throw new IOException("Work coordinator closed the connection");
+            }
+            if (reply.startsWith("ERROR")) {
+                throw new IllegalStateException("Work coordinator rejected '" + message.split(SEPARATOR)[0]
+                    + "': " + reply.substring(reply.indexOf(SEPARATOR) + 1));
+            }
+            return reply;
+        } catch (IOException e) {
+            logger.error("Failed to talk to work coordinator", e);
+            throw new RuntimeException("Work coordinator request failed", e);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(RETRY_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for work coordinator", e);
+        }
+    }
+}
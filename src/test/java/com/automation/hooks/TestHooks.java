@@ -1,14 +1,28 @@
 package com.automation.hooks;
 
+import com.automation.base.ResponseSpillFilter;
 import com.automation.config.ConfigManager;
 import com.automation.database.DatabaseManager;
+import com.automation.database.QueryStatistics;
+import com.automation.utils.AdaptiveConcurrencyLimiter;
+import com.automation.utils.ApiLatencyStatistics;
 import com.automation.utils.FileManager;
+import com.automation.utils.RunResultsStore;
+import com.automation.utils.ScenarioScheduler;
+import com.automation.utils.ScenarioContext;
+import com.automation.utils.SuiteContext;
+import com.automation.utils.TestDataUtils;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.util.List;
+
 /**
  * Cucumber hooks for setup and teardown operations
  */
@@ -18,17 +32,25 @@ public class TestHooks {
     
     private final ConfigManager config = ConfigManager.getInstance();
     private final DatabaseManager dbManager = DatabaseManager.getInstance();
-    private final FileManager fileManager = new FileManager();
+    /**
+     * test.data.seed, parsed once at suite start so a malformed value fails the suite up front
+     */
+    private static volatile Long testDataSeed;
 
     @Before
     public void setUp(Scenario scenario) {
         logger.info("========== Starting Scenario: {} ==========", scenario.getName());
+        ScenarioContext.setCurrentScenario(scenario.getName());
+        
+        // A configured seed makes each scenario's random data reproducible, independent of scheduling
+        Long seed = testDataSeed;
+        if (seed != null) {
+            TestDataUtils.seedForScenario(seed * 31 + scenario.getName().hashCode());
+            logger.info("Test data seeded with {} for scenario: {}", seed, scenario.getName());
+        }
         
         try {
-            // Setup test directories
-            fileManager.createDirectory(config.getLocalStoragePath());
-            fileManager.createDirectory(config.getReportPath());
-
+            // Test directories are created once by the suite warm-up
             // Connect to database if needed
             if (scenario.getSourceTagNames().contains("@database")) {
                 if (!dbManager.isConnected()) {
@@ -51,17 +73,20 @@ public class TestHooks {
         try {
             logger.info("========== Completing Scenario: {} ==========", scenario.getName());
 
-            // Save scenario results
-            String scenarioResult = String.format(
-                "Scenario: %s%nStatus: %s%nTags: %s%nTimestamp: %s%n",
+            // Record a structured scenario result in this run's results store
+            RunResultsStore.getInstance().record(new RunResultsStore.ScenarioResult(
+                RunResultsStore.getInstance().getRunId(),
                 scenario.getName(),
+                scenario.getUri() + ":" + scenario.getLine(),
                 scenario.getStatus().name(),
-                scenario.getSourceTagNames(),
-                java.time.LocalDateTime.now()
-            );
-
-            String fileName = scenario.getName().replaceAll("[^a-zA-Z0-9]", "_");
-            fileManager.saveTestResults(fileName, scenarioResult);
+                List.copyOf(scenario.getSourceTagNames()),
+                System.currentTimeMillis() - ScenarioContext.getElapsedMillis(),
+                ScenarioContext.getElapsedMillis(),
+                ScenarioContext.getRequestCount(),
+                ScenarioContext.getRequestBytes(),
+                ScenarioContext.getResponseBytes(),
+                Thread.currentThread().getName()
+            ));
             logger.debug("Test results saved for scenario: {}", scenario.getName());
 
             // Disconnect from database
@@ -74,14 +99,14 @@ public class TestHooks {
                 }
             }
 
-            // Clean up old files (older than 7 days)
-            fileManager.cleanupOldFiles(config.getLocalStoragePath(), 7);
-
             logger.info("Scenario status: {} - Duration: {}ms",
                 scenario.getStatus(),
-                System.currentTimeMillis());
+                ScenarioContext.getElapsedMillis());
         } catch (Exception e) {
             logger.error("Error during test teardown for scenario: {}", scenario.getName(), e);
+        } finally {
+            ScenarioContext.clear();
+            TestDataUtils.clearScenarioSeed();
         }
     }
     
@@ -123,4 +148,106 @@ public class TestHooks {
         logger.info("Performance test completed: {} - Status: {}",
             scenario.getName(), scenario.getStatus());
     }
+
+    @BeforeAll
+    public static void warmUpSuite() {
+        testDataSeed = ConfigManager.getInstance().getTestDataSeed();
+        // Shared POMs, specifications and FileManager, built once instead of per scenario
+        SuiteContext.warmUp();
+    }
+
+    @BeforeAll
+    public static void startStorageJanitor() {
+        // Retention runs on one background thread per suite instead of after every scenario
+        FileManager.startStorageJanitor();
+    }
+
+    @AfterAll
+    public static void stopStorageJanitor() {
+        FileManager.stopStorageJanitor();
+    }
+
+    @AfterAll
+    public static void closeAsyncWriters() {
+        // Flushes every queued response and result before the JVM exits; metrics are logged per writer
+        FileManager.closeAsyncWriters();
+    }
+
+    @AfterAll
+    public static void writeScheduleReport() {
+        ScenarioScheduler.ScheduleReport report = ScenarioScheduler.report();
+        if (report == null) {
+            return;
+        }
+
+        writeReport("schedule", TestDataUtils.toJsonString(report));
+    }
+
+    @AfterAll
+    public static void writeConcurrencyReport() {
+        AdaptiveConcurrencyLimiter.Stats stats = AdaptiveConcurrencyLimiter.report();
+        if (stats == null) {
+            return;
+        }
+
+        writeReport("concurrency", TestDataUtils.toJsonString(stats));
+    }
+
+    @AfterAll(order = 0)
+    public static void tearDownSuite() {
+        // Lowest order runs last, after the reports that use the shared FileManager
+        SuiteContext.StartupReport report = SuiteContext.getStartupReport();
+        if (report != null) {
+            writeReport("startup", TestDataUtils.toJsonString(report));
+        }
+        SuiteContext.tearDown();
+    }
+
+    @AfterAll
+    public static void closeRunResults() {
+        RunResultsStore.closeInstance();
+    }
+
+    @AfterAll
+    public static void closeAppenders() {
+        FileManager.closeAppenders();
+    }
+
+    @AfterAll
+    public static void deleteSpilledResponses() {
+        // Queued spilled responses are read from their files, so they must be written first
+        FileManager.flushPendingWrites();
+        ResponseSpillFilter.deleteSpillFiles();
+    }
+
+    @AfterAll
+    public static void writeQueryTimingSummary() {
+        QueryStatistics queryStatistics = DatabaseManager.getInstance().getQueryStatistics();
+        if (queryStatistics.isEmpty()) {
+            return;
+        }
+
+        writeReport("query_timings", TestDataUtils.toJsonString(queryStatistics.toSummary()));
+    }
+
+    @AfterAll
+    public static void writeApiLatencySummary() {
+        ApiLatencyStatistics statistics = ApiLatencyStatistics.getSuiteStatistics();
+        if (statistics.isEmpty()) {
+            return;
+        }
+
+        writeReport("api_latency", TestDataUtils.toJsonString(statistics.toSummary()));
+    }
+
+    /**
+     * Pretty-print a JSON report to a timestamped file in the report directory
+     */
+    private static void writeReport(String name, String json) {
+        FileManager fileManager = SuiteContext.getFileManager();
+        String filePath = ConfigManager.getInstance().getReportPath() + File.separator
+            + fileManager.createTimestampedFileName(name, "json");
+        fileManager.writeFile(filePath, TestDataUtils.prettyPrintJson(json));
+        logger.info("Report '{}' written to: {}", name, filePath);
+    }
 }
@@ -1,12 +1,44 @@
 package com.automation.runner;
 
+import com.automation.config.ConfigManager;
+import com.automation.utils.FileManager;
+import com.automation.utils.ScenarioScheduler;
+import com.automation.utils.ScenarioSharding;
+import com.automation.utils.SuiteContext;
+import com.automation.utils.TestDataUtils;
+import com.automation.utils.WorkCoordinator;
+import com.automation.utils.WorkQueueClient;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * TestNG runner for Cucumber tests
- * Configures Cucumber options and enables parallel execution
+ * Configures Cucumber options and enables parallel execution on thread.count data provider threads
+ * Cucumber HTML/JSON and JUnit reports go to cucumber.reports.path and cucumber.junit.report
+ * Each shard keeps its part of the scenarios (shard.index of shard.count), which are handed
+ * to the data provider pool longest-first, based on previous runs
+ * With distributed.mode=coordinator the runner serves the scenarios to worker JVMs instead of
+ * running them, and reports their results; with distributed.mode=worker the scenarios are run
+ * by drainWorkQueue instead, each of its thread.count slots pulling scenarios from the
+ * coordinator until the queue is drained
  */
 @CucumberOptions(
     features = "src/test/resources/features",
@@ -14,19 +46,225 @@ import org.testng.annotations.DataProvider;
     tags = "@smoke or @regression",
     plugin = {
         "pretty",
-        "html:target/cucumber-reports/html",
-        "json:target/cucumber-reports/Cucumber.json",
-        "junit:target/surefire-reports/Cucumber.xml",
         "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
     },
     monochrome = true,
     publish = false
 )
 public class TestRunner extends AbstractTestNGCucumberTests {
-    
+    private static final Logger logger = LoggerFactory.getLogger(TestRunner.class);
+
+    private final Map<String, Object[]> scenariosByKey = new LinkedHashMap<>();
+
+    static {
+        // The report plugins go through cucumber.plugin, not @CucumberOptions, so their paths follow
+        // cucumber.reports.path and cucumber.junit.report; plugins given with -Dcucumber.plugin are kept
+        ConfigManager config = ConfigManager.getInstance();
+        String reports = config.getCucumberReportsPath();
+        List<String> plugins = new ArrayList<>();
+        String given = System.getProperty("cucumber.plugin");
+        if (given != null && !given.isBlank()) {
+            plugins.add(given);
+        }
+        plugins.add("html:" + reports + "/html");
+        plugins.add("json:" + reports + "/Cucumber.json");
+        plugins.add("junit:" + config.getCucumberJunitReport());
+        System.setProperty("cucumber.plugin", String.join(",", plugins));
+    }
+
+    /**
+     * Size the data provider pool from thread.count, which the scheduler and worker slots also use
+     */
+    @BeforeClass(alwaysRun = true)
+    public void configureThreadCount(ITestContext context) {
+        int threads = Math.max(1, ConfigManager.getInstance().getThreadCount());
+        context.getSuite().getXmlSuite().setDataProviderThreadCount(threads);
+        logger.info("Running scenarios on {} data provider threads", threads);
+    }
+
     @Override
     @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        return super.scenarios();
+        ConfigManager config = ConfigManager.getInstance();
+        if (isWorker(config)) {
+            // Worker threads run the scenarios they pull in drainWorkQueue
+            return new Object[0][];
+        }
+
+        List<Object[]> scenarios = Arrays.asList(super.scenarios());
+        scenarios = ScenarioSharding.select(scenarios, TestRunner::scenarioKey, TestRunner::scenarioUri);
+        if (config.isSchedulerEnabled()) {
+            scenarios = ScenarioScheduler.orderLongestFirst(scenarios, TestRunner::scenarioUri,
+                config.getThreadCount());
+        }
+        if ("coordinator".equalsIgnoreCase(config.getDistributedMode())) {
+            return coordinate(scenarios, config);
+        }
+        return scenarios.toArray(new Object[0][]);
+    }
+
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        if (pickleWrapper instanceof RemoteScenario remote) {
+            remote.verify();
+        } else {
+            super.runScenario(pickleWrapper, featureWrapper);
+        }
+    }
+
+    /**
+     * One row per worker slot, with distributed.mode=worker only
+     */
+    @DataProvider(parallel = true)
+    public Object[][] workerSlots() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!isWorker(config)) {
+            return new Object[0][];
+        }
+        for (Object[] row : super.scenarios()) {
+            if (scenariosByKey.put(scenarioKey(row), row) != null) {
+                throw new IllegalStateException("Duplicate scenario key: " + scenarioKey(row));
+            }
+        }
+        int slots = Math.max(1, config.getThreadCount());
+        Object[][] rows = new Object[slots][];
+        for (int i = 0; i < slots; i++) {
+            rows[i] = new Object[]{"worker-" + ProcessHandle.current().pid() + "-" + i};
+        }
+        return rows;
+    }
+
+    /**
+     * Pull scenarios from the coordinator and run them until none are left
+     */
+    @Test(groups = "cucumber", description = "Runs scenarios pulled from the work coordinator",
+        dataProvider = "workerSlots")
+    public void drainWorkQueue(String slot) {
+        ConfigManager config = ConfigManager.getInstance();
+        List<String> failed = new ArrayList<>();
+        int executed = 0;
+        try (WorkQueueClient client = WorkQueueClient.connect(config.getDistributedHost(), config.getDistributedPort(),
+                slot, TimeUnit.SECONDS.toMillis(config.getDistributedConnectTimeoutSeconds()))) {
+            for (String key; (key = client.next()) != null; executed++) {
+                Object[] row = scenariosByKey.get(key);
+                long started = System.currentTimeMillis();
+                String status = "PASSED";
+                String message = "";
+                try {
+                    if (row == null) {
+                        throw new IllegalStateException("Unknown scenario key: " + key);
+                    }
+                    super.runScenario((PickleWrapper) row[0], (FeatureWrapper) row[1]);
+                } catch (SkipException e) {
+                    status = "SKIPPED";
+                    message = String.valueOf(e.getMessage());
+                } catch (RuntimeException | AssertionError e) {
+                    status = "FAILED";
+                    message = String.valueOf(e.getMessage());
+                    failed.add(key);
+                }
+                client.report(key, status, System.currentTimeMillis() - started, message);
+            }
+        }
+        logger.info("{} ran {} scenarios ({} failed)", slot, executed, failed.size());
+        if (!failed.isEmpty()) {
+            throw new AssertionError(slot + " had failing scenarios: " + String.join(", ", failed));
+        }
+    }
+
+    /**
+     * Serve the scenarios to workers, wait for their results and return one row per scenario
+     * that replays its remote outcome
+     */
+    private static Object[][] coordinate(List<Object[]> scenarios, ConfigManager config) {
+        List<String> keys = scenarios.stream().map(TestRunner::scenarioKey).toList();
+        long timeoutMillis = TimeUnit.MINUTES.toMillis(config.getDistributedTimeoutMinutes());
+        Map<String, WorkCoordinator.ScenarioResult> results;
+        long started = System.currentTimeMillis();
+        try (WorkCoordinator coordinator = new WorkCoordinator(keys, config.getDistributedHost(),
+                config.getDistributedPort(), config.getDistributedMaxAttempts(),
+                TimeUnit.MINUTES.toMillis(config.getDistributedLeaseTimeoutMinutes())).start()) {
+            if (!coordinator.awaitCompletion(timeoutMillis)) {
+                logger.error("Work coordinator timed out after {} minutes", config.getDistributedTimeoutMinutes());
+            }
+            results = coordinator.getResults();
+            writeCoordinatorReport(results, coordinator.getWorkerCount(), System.currentTimeMillis() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for workers", e);
+        }
+
+        Object[][] rows = new Object[scenarios.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            Object[] row = scenarios.get(i);
+            rows[i] = new Object[]{new RemoteScenario((PickleWrapper) row[0], results.get(keys.get(i))), row[1]};
+        }
+        return rows;
+    }
+
+    private static void writeCoordinatorReport(Map<String, WorkCoordinator.ScenarioResult> results,
+                                               int workers, long elapsedMs) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workers", workers);
+        report.put("elapsedMs", elapsedMs);
+        report.put("results", new ArrayList<>(results.values()));
+        FileManager fileManager = SuiteContext.getFileManager();
+        String filePath = ConfigManager.getInstance().getReportPath() + File.separator
+            + fileManager.createTimestampedFileName("coordinator", "json");
+        fileManager.writeFile(filePath, TestDataUtils.prettyPrintJson(TestDataUtils.toJsonString(report)));
+        logger.info("Coordinator report written to: {} ({} results from {} workers in {} ms)",
+            filePath, results.size(), workers, elapsedMs);
+    }
+
+    private static boolean isWorker(ConfigManager config) {
+        return "worker".equalsIgnoreCase(config.getDistributedMode());
+    }
+
+    /**
+     * Feature uri and line, as the hooks record it in the run results
+     */
+    private static String scenarioUri(Object[] row) {
+        return row[0] instanceof PickleWrapper pickle
+            ? pickle.getPickle().getUri() + ":" + pickle.getPickle().getLine() : "";
+    }
+
+    /**
+     * Feature file name and line (the example row for outlines): stable across machines and checkout paths
+     */
+    private static String scenarioKey(Object[] row) {
+        if (!(row[0] instanceof PickleWrapper pickle)) {
+            return "";
+        }
+        String uri = pickle.getPickle().getUri().toString();
+        return uri.substring(uri.lastIndexOf('/') + 1) + ":" + pickle.getPickle().getLine();
+    }
+
+    /**
+     * A scenario run by a worker; replays the worker's outcome in the coordinator's results
+     */
+    private record RemoteScenario(PickleWrapper scenario, WorkCoordinator.ScenarioResult result)
+            implements PickleWrapper {
+        @Override
+        public Pickle getPickle() {
+            return scenario.getPickle();
+        }
+
+        void verify() {
+            if (result == null) {
+                throw new AssertionError("Scenario was not run by any worker before the coordinator timed out");
+            }
+            if ("SKIPPED".equals(result.status())) {
+                throw new SkipException(result.message());
+            }
+            if (!result.isPassed()) {
+                throw new AssertionError(result.status() + " on " + result.worker() + ": " + result.message());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return scenario.toString();
+        }
     }
 }
@@ -0,0 +1,128 @@
+package com.automation.stepdefinitions;
+
+import com.automation.pom.UserPOM;
+import com.automation.utils.ApiLatencyStatistics;
+import com.automation.utils.LatencyHistogram;
+import com.automation.utils.ScenarioContext;
+import com.automation.utils.SuiteContext;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Step definitions for latency and throughput objectives
+ * Assertions use the latencies recorded for the current scenario's requests, so they hold for
+ * any step that sends requests, not only the repeated requests below.
+ */
+public class PerformanceStepDefinitions {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceStepDefinitions.class);
+
+    private final UserPOM userPOM = SuiteContext.getUserPOM();
+    private final Map<Integer, Integer> statusCounts = new TreeMap<>();
+
+    @When("I send {int} GET requests to {string}")
+    public void i_send_get_requests_to(int repetitions, String endpoint) throws Exception {
+        i_send_get_requests_to_with_concurrent_clients(repetitions, endpoint, 1);
+    }
+
+    @When("I send {int} GET requests to {string} with {int} concurrent clients")
+    public void i_send_get_requests_to_with_concurrent_clients(int repetitions, String endpoint, int clients)
+            throws Exception {
+        ScenarioContext.Scope scenario = ScenarioContext.currentScope();
+        AtomicInteger remaining = new AtomicInteger(repetitions);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Map<Integer, Integer>>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    // Client threads count their requests, bytes and latencies towards the scenario
+                    ScenarioContext.join(scenario);
+                    try {
+                        Map<Integer, Integer> counts = new TreeMap<>();
+                        while (remaining.getAndDecrement() > 0) {
+                            counts.merge(userPOM.performGet(endpoint).getStatusCode(), 1, Integer::sum);
+                        }
+                        return counts;
+                    } finally {
+                        ScenarioContext.clear();
+                    }
+                }));
+            }
+            for (Future<Map<Integer, Integer>> future : futures) {
+                future.get().forEach((status, count) -> statusCounts.merge(status, count, Integer::sum));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        logger.info("Sent {} GET requests to {} with {} clients: status codes {}", repetitions, endpoint, clients,
+            statusCounts);
+    }
+
+    @Then("every response status code should be {int}")
+    public void every_response_status_code_should_be(int statusCode) {
+        assertThat(statusCounts).as("status code counts").containsOnlyKeys(statusCode);
+    }
+
+    @Then("the p{double} response time for {word} {word} should be below {int} ms")
+    public void the_percentile_response_time_should_be_below(double percentile, String method, String path,
+                                                              int maxMillis) {
+        LatencyHistogram histogram = histogram(method, path);
+        double actual = histogram.getPercentileMillis(percentile);
+        String label = "p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+        logger.info("{} of {} {}: {} ms over {} requests", label, method, path,
+            String.format("%.1f", actual), histogram.getCount());
+        assertThat(actual).as("%s response time of %s %s in ms (%s)", label, method, path, describe(histogram))
+            .isLessThan(maxMillis);
+    }
+
+    @Then("the mean response time for {word} {word} should be below {int} ms")
+    public void the_mean_response_time_should_be_below(String method, String path, int maxMillis) {
+        LatencyHistogram histogram = histogram(method, path);
+        assertThat(histogram.getMeanMillis()).as("mean response time of %s %s in ms (%s)", method, path,
+            describe(histogram)).isLessThan(maxMillis);
+    }
+
+    @Then("throughput should be at least {int} requests per second")
+    public void throughput_should_be_at_least(int minPerSecond) {
+        ApiLatencyStatistics statistics = ScenarioContext.getLatencyStatistics();
+        assertThat(statistics.getRequestCount()).as("requests sent by this scenario").isPositive();
+        double actual = statistics.getThroughputPerSecond();
+        logger.info("Throughput: {} requests/s over {} requests", String.format("%.1f", actual),
+            statistics.getRequestCount());
+        assertThat(actual).as("requests per second").isGreaterThanOrEqualTo(minPerSecond);
+    }
+
+    @Then("throughput for {word} {word} should be at least {int} requests per second")
+    public void endpoint_throughput_should_be_at_least(String method, String path, int minPerSecond) {
+        histogram(method, path);
+        assertThat(ScenarioContext.getLatencyStatistics().getThroughputPerSecond(method, path))
+            .as("requests per second to %s %s", method, path).isGreaterThanOrEqualTo(minPerSecond);
+    }
+
+    private static LatencyHistogram histogram(String method, String path) {
+        LatencyHistogram histogram = ScenarioContext.getLatencyStatistics().getHistogram(method, path);
+        assertThat(histogram).as("requests to %s in this scenario", ApiLatencyStatistics.endpoint(method, path))
+            .isNotNull();
+        return histogram;
+    }
+
+    private static String describe(LatencyHistogram histogram) {
+        return String.format("n=%d, p50=%.1f, p95=%.1f, p99=%.1f, max=%.1f", histogram.getCount(),
+            histogram.getPercentileMillis(50), histogram.getPercentileMillis(95), histogram.getPercentileMillis(99),
+            histogram.getMaxMillis());
+    }
+}
@@ -0,0 +1,249 @@
+package com.automation.stepdefinitions;
+
+import com.automation.config.ConfigManager;
+import com.automation.database.BulkLoader;
+import com.automation.database.DatabaseManager;
+import com.automation.pojo.Post;
+import com.automation.pojo.User;
+import com.automation.utils.DatasetGenerator;
+import com.automation.utils.TestDataUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Step definitions for test data generator scenarios
+ */
+public class TestDataStepDefinitions {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestDataStepDefinitions.class);
+
+    private final List<Object[]> generated = new ArrayList<>();
+    private final List<List<String>> nameSequences = new ArrayList<>();
+    private long generationNanos;
+    private long generatedCount;
+    private Path usersFile;
+    private Path postsFile;
+    private long datasetUsers;
+    private long loadedUsers;
+    private long loadedPosts;
+
+    @When("{int} threads each generate {int} unique {word}")
+    public void threads_each_generate_unique_values(int threads, int perThread, String kind) throws Exception {
+        Supplier<Object> generator = generator(kind);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    Object[] values = new Object[perThread];
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        values[i] = generator.get();
+                    }
+                    return values;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Object[]> future : futures) {
+                generated.add(future.get());
+            }
+            generationNanos = System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+        logger.info("Generated {} {} on {} threads in {} ms",
+            (long) threads * perThread, kind, threads, generationNanos / 1_000_000);
+    }
+
+    @When("{int} threads each generate {int} {word} without keeping them")
+    public void threads_each_generate_values_without_keeping_them(int threads, int perThread, String kind)
+            throws Exception {
+        Supplier<Object> generator = generator(kind);
+        // Warm up so the rate reflects steady-state generation
+        for (int i = 0; i < 50_000; i++) {
+            generator.get();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    // Folding the hashes keeps the values from being optimised away
+                    int hash = 0;
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        hash ^= generator.get().hashCode();
+                    }
+                    return hash;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            int hash = 0;
+            for (Future<Integer> future : futures) {
+                hash ^= future.get();
+            }
+            generationNanos = System.nanoTime() - begin;
+            generatedCount = (long) threads * perThread;
+            logger.debug("Generated value hash: {}", hash);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Then("the generation rate in million values per second should be logged")
+    public void the_generation_rate_should_be_logged() {
+        assertThat(generatedCount).as("values generated").isPositive();
+        double millionsPerSecond = generatedCount / (generationNanos / 1e9) / 1e6;
+        logger.info("Generation rate: {} million values per second ({} values in {} ms)",
+            String.format("%.2f", millionsPerSecond), generatedCount, generationNanos / 1_000_000);
+        assertThat(millionsPerSecond).as("million values per second").isPositive();
+    }
+
+    @Then("no generated value should be duplicated")
+    public void no_generated_value_should_be_duplicated() {
+        long total = 0;
+        Set<Object> distinct = new HashSet<>();
+        for (Object[] values : generated) {
+            total += values.length;
+            for (Object value : values) {
+                distinct.add(value);
+            }
+        }
+        assertThat(total - distinct.size()).as("collisions among %d generated values", total).isZero();
+    }
+
+    @When("I generate {int} random names with seed {long}")
+    public void i_generate_random_names_with_seed(int count, long seed) {
+        TestDataUtils.seedForScenario(seed);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add(TestDataUtils.generateRandomName() + " " + TestDataUtils.generateRandomPhoneNumber());
+        }
+        nameSequences.add(names);
+    }
+
+    @Then("the generated name sequences should be identical")
+    public void the_generated_name_sequences_should_be_identical() {
+        assertThat(nameSequences).hasSizeGreaterThanOrEqualTo(2);
+        nameSequences.forEach(sequence -> assertThat(sequence).isEqualTo(nameSequences.get(0)));
+    }
+
+    @When("I generate a dataset of {long} users with seed {long}")
+    public void i_generate_a_dataset_of_users_with_seed(long users, long seed) {
+        usersFile = datasetFile("users", seed);
+        postsFile = datasetFile("posts", seed);
+        DatasetGenerator.DatasetStats stats = new DatasetGenerator(seed).writeJsonl(users, usersFile, postsFile);
+        datasetUsers = users;
+        assertThat(stats.users()).isEqualTo(users);
+    }
+
+    @Then("every generated post should belong to a generated user")
+    public void every_generated_post_should_belong_to_a_generated_user() throws IOException {
+        long posts = 0;
+        try (MappingIterator<JsonNode> iterator = new ObjectMapper().readerFor(JsonNode.class)
+            .readValues(postsFile.toFile())) {
+            while (iterator.hasNextValue()) {
+                long userId = iterator.nextValue().get("userId").asLong();
+                assertThat(userId).isBetween(1L, datasetUsers);
+                posts++;
+            }
+        }
+        logger.info("Verified {} posts reference one of {} users", posts, datasetUsers);
+    }
+
+    @Then("generating the dataset again with seed {long} should produce identical files")
+    public void generating_the_dataset_again_should_produce_identical_files(long seed) throws IOException {
+        Path firstUsers = usersFile;
+        Path firstPosts = postsFile;
+        Path againUsers = datasetFile("users_again", seed);
+        Path againPosts = datasetFile("posts_again", seed);
+        new DatasetGenerator(seed).writeJsonl(datasetUsers, againUsers, againPosts);
+        try {
+            assertThat(Files.mismatch(firstUsers, againUsers)).isEqualTo(-1L);
+            assertThat(Files.mismatch(firstPosts, againPosts)).isEqualTo(-1L);
+        } finally {
+            for (Path file : List.of(firstUsers, firstPosts, againUsers, againPosts)) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @When("I bulk load a dataset of {long} users with seed {long} into {string} and {string}")
+    public void i_bulk_load_a_dataset_into(long users, long seed, String usersTable, String postsTable) {
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        dbManager.executeUpdate("DELETE FROM " + postsTable);
+        dbManager.executeUpdate("DELETE FROM " + usersTable);
+
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        BulkLoader loader = new BulkLoader(dbManager);
+        loadedUsers = loader.load(usersTable, User.class, LongStream.range(0, users).mapToObj(generator::user));
+        loadedPosts = loader.load(postsTable, Post.class, LongStream.range(0, users)
+            .mapToObj(generator::user)
+            .flatMap(user -> generator.posts(user).stream()));
+        datasetUsers = users;
+        assertThat(loadedUsers).isEqualTo(users);
+    }
+
+    @Then("the {string} table should hold every loaded user")
+    public void the_table_should_hold_every_loaded_user(String usersTable) {
+        assertThat(countRows("SELECT COUNT(*) FROM " + usersTable)).isEqualTo(datasetUsers);
+    }
+
+    @Then("the {string} table should hold every loaded post")
+    public void the_table_should_hold_every_loaded_post(String postsTable) {
+        assertThat(loadedPosts).isPositive();
+        assertThat(countRows("SELECT COUNT(*) FROM " + postsTable)).isEqualTo(loadedPosts);
+    }
+
+    @Then("every row in {string} should reference a row in {string}")
+    public void every_row_should_reference_a_row_in(String postsTable, String usersTable) {
+        long orphans = countRows("SELECT COUNT(*) FROM " + postsTable + " p LEFT JOIN " + usersTable
+            + " u ON p.user_id = u.id WHERE u.id IS NULL");
+        assertThat(orphans).isZero();
+        logger.info("Bulk loaded {} users and {} posts with no orphaned posts", loadedUsers, loadedPosts);
+    }
+
+    private static long countRows(String query) {
+        return ((Number) DatabaseManager.getInstance().getSingleValue(query)).longValue();
+    }
+
+    private static Supplier<Object> generator(String kind) {
+        return switch (kind) {
+            case "ids" -> TestDataUtils::generateUniqueId;
+            case "emails" -> TestDataUtils::generateRandomEmail;
+            case "usernames" -> TestDataUtils::generateRandomUsername;
+            default -> throw new IllegalArgumentException("Unknown test data kind: " + kind);
+        };
+    }
+
+    private static Path datasetFile(String name, long seed) {
+        return Paths.get(ConfigManager.getInstance().getLocalStoragePath(), "datasets",
+            name + "_" + seed + "_" + Thread.currentThread().threadId() + ".jsonl");
+    }
+}
@@ -1,9 +1,15 @@
 package com.automation.stepdefinitions;
 
+import com.automation.base.ResponseSpillFilter;
+import com.automation.config.ConfigManager;
+import com.automation.database.DataReconciler;
 import com.automation.database.DatabaseManager;
+import com.automation.database.ReconciliationReport;
 import com.automation.pojo.User;
 import com.automation.pom.UserPOM;
 import com.automation.utils.FileManager;
+import com.automation.utils.JsonExpectations;
+import com.automation.utils.SuiteContext;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -12,9 +18,17 @@ import io.restassured.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import static com.automation.utils.JsonExpectations.Check.ARRAY;
+import static com.automation.utils.JsonExpectations.Check.INTEGER;
+import static com.automation.utils.JsonExpectations.Check.NOT_BLANK;
+import static com.automation.utils.JsonExpectations.Check.NOT_EMPTY;
+import static com.automation.utils.JsonExpectations.Check.NOT_NULL;
+import static com.automation.utils.JsonExpectations.Check.OBJECT;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -24,9 +38,31 @@ public class UserStepDefinitions {
     
     private static final Logger logger = LoggerFactory.getLogger(UserStepDefinitions.class);
     
-    private UserPOM userPOM = new UserPOM();
-    private DatabaseManager dbManager = DatabaseManager.getInstance();
-    private FileManager fileManager = new FileManager();
+    // Compiled once and checked in a single streaming pass over each response
+    private static final JsonExpectations USER_LIST = new JsonExpectations()
+        .expect("$", ARRAY)
+        .expect("$", NOT_EMPTY)
+        .expect("$[*]", OBJECT);
+    private static final JsonExpectations USER_LIST_REQUIRED_FIELDS = new JsonExpectations()
+        .expect("$[*].id", NOT_NULL)
+        .expect("$[*].name", NOT_BLANK)
+        .expect("$[*].email", NOT_BLANK)
+        .expect("$[*].username", NOT_BLANK);
+    private static final JsonExpectations USER_DETAILS = new JsonExpectations()
+        .expect("$", OBJECT)
+        .expect("$.id", NOT_NULL)
+        .expect("$.name", NOT_BLANK);
+    private static final JsonExpectations USER_REQUIRED_FIELDS = new JsonExpectations()
+        .expect("$", OBJECT)
+        .expect("$.id", INTEGER)
+        .expect("$.name", NOT_BLANK)
+        .expect("$.email", NOT_BLANK)
+        .expect("$.username", NOT_BLANK);
+    
+    // Suite-scoped: a new step definition instance per scenario must not rebuild them
+    private final UserPOM userPOM = SuiteContext.getUserPOM();
+    private final DatabaseManager dbManager = DatabaseManager.getInstance();
+    private final FileManager fileManager = SuiteContext.getFileManager();
     
     private Response response;
     private User user;
@@ -34,7 +70,8 @@ public class UserStepDefinitions {
     
     @Given("the API base URL is configured")
     public void the_api_base_url_is_configured() {
-        userPOM.setupRestAssured();
+        // Specifications are built once by the suite warm-up
+        assertThat(ConfigManager.getInstance().getBaseUrl()).as("base.url").isNotBlank();
         logger.info("API base URL configured");
     }
     
@@ -112,7 +149,7 @@ public class UserStepDefinitions {
         }
         
         // Save response for debugging
-        fileManager.saveApiResponse("GET_" + endpoint.replace("/", "_"), response.asString());
+        saveResponse("GET_" + endpoint.replace("/", "_"));
         logger.info("GET request sent to: {}", endpoint);
     }
     
@@ -122,7 +159,7 @@ public class UserStepDefinitions {
         createdUser = userPOM.extractResponse(response, User.class);
         
         // Save response for debugging
-        fileManager.saveApiResponse("POST_" + endpoint.replace("/", "_"), response.asString());
+        saveResponse("POST_" + endpoint.replace("/", "_"));
         logger.info("POST request sent to: {} with user data", endpoint);
     }
     
@@ -135,7 +172,7 @@ public class UserStepDefinitions {
         response = userPOM.updateUser(userId, user);
         
         // Save response for debugging
-        fileManager.saveApiResponse("PUT_" + endpoint.replace("/", "_"), response.asString());
+        saveResponse("PUT_" + endpoint.replace("/", "_"));
         logger.info("PUT request sent to: {} with updated user data", endpoint);
     }
     
@@ -162,7 +199,7 @@ public class UserStepDefinitions {
         response = userPOM.patchUser(userId, partialUser);
         
         // Save response for debugging
-        fileManager.saveApiResponse("PATCH_" + endpoint.replace("/", "_"), response.asString());
+        saveResponse("PATCH_" + endpoint.replace("/", "_"));
         logger.info("PATCH request sent to: {} with partial data", endpoint);
     }
     
@@ -175,7 +212,7 @@ public class UserStepDefinitions {
         response = userPOM.deleteUser(userId);
         
         // Save response for debugging
-        fileManager.saveApiResponse("DELETE_" + endpoint.replace("/", "_"), response.asString());
+        saveResponse("DELETE_" + endpoint.replace("/", "_"));
         logger.info("DELETE request sent to: {}", endpoint);
     }
     
@@ -197,38 +234,35 @@ public class UserStepDefinitions {
     
     @Then("the response should contain a list of users")
     public void the_response_should_contain_a_list_of_users() {
-        List<User> users = response.jsonPath().getList("", User.class);
-        assertThat(users).isNotEmpty();
-        logger.info("Response contains {} users", users.size());
+        JsonExpectations.Result result = userPOM.assertJson(response, USER_LIST);
+        logger.info("Response contains {} users", result.getMatchCount("$[*]"));
     }
     
     @Then("each user should have required fields")
     public void each_user_should_have_required_fields() {
-        List<User> users = response.jsonPath().getList("", User.class);
-        for (User user : users) {
-            assertThat(user.getId()).isNotNull();
-            assertThat(user.getName()).isNotBlank();
-            assertThat(user.getEmail()).isNotBlank();
-            assertThat(user.getUsername()).isNotBlank();
-        }
+        userPOM.assertJson(response, USER_LIST_REQUIRED_FIELDS);
         logger.info("All users have required fields");
     }
     
+    @Then("the response should match the {string} schema")
+    public void the_response_should_match_the_schema(String schemaName) {
+        userPOM.validateAgainstSchema(response, schemaName);
+    }
+    
+    @Then("the response should match the {string} snapshot")
+    public void the_response_should_match_the_snapshot(String snapshotName) {
+        userPOM.assertMatchesSnapshot(response, snapshotName);
+    }
+    
     @Then("the response should contain user details")
     public void the_response_should_contain_user_details() {
-        User responseUser = response.as(User.class);
-        assertThat(responseUser.getId()).isNotNull();
-        assertThat(responseUser.getName()).isNotBlank();
-        logger.info("Response contains user details for user: {}", responseUser.getName());
+        JsonExpectations.Result result = userPOM.assertJson(response, USER_DETAILS);
+        logger.info("Response contains user details for user: {}", result.getFirstValue("$.name"));
     }
     
     @Then("the user should have all required fields populated")
     public void the_user_should_have_all_required_fields_populated() {
-        User responseUser = response.as(User.class);
-        assertThat(responseUser.getId()).isNotNull();
-        assertThat(responseUser.getName()).isNotBlank();
-        assertThat(responseUser.getEmail()).isNotBlank();
-        assertThat(responseUser.getUsername()).isNotBlank();
+        userPOM.assertJson(response, USER_REQUIRED_FIELDS);
         logger.info("User has all required fields populated");
     }
     
@@ -289,4 +323,31 @@ public class UserStepDefinitions {
             logger.info("Database user data matches API response data");
         }
     }
+    
+    @Then("every user returned by the API should match the {string} table on fields {string}")
+    public void every_user_returned_by_the_api_should_match_the_table(String tableName, String fieldList) {
+        List<String> fields = Arrays.stream(fieldList.split(","))
+            .map(String::trim)
+            .toList();
+        
+        DataReconciler reconciler = new DataReconciler(dbManager, "id", fields);
+        ReconciliationReport report = reconciler.reconcile(ResponseSpillFilter.openBody(response), tableName);
+        
+        assertThat(report.isClean())
+            .withFailMessage("API users do not match table '%s':%n%s", tableName, report.summary())
+            .isTrue();
+        logger.info("All {} API users match table: {}", report.getApiRecords(), tableName);
+    }
+    
+    /**
+     * Save the current response; large bodies spilled to disk are saved from their file
+     */
+    private void saveResponse(String name) {
+        Path spillFile = ResponseSpillFilter.getSpillFile(response);
+        if (spillFile != null) {
+            fileManager.saveApiResponse(name, spillFile);
+        } else {
+            fileManager.saveApiResponse(name, response.asString());
+        }
+    }
 }
@@ -0,0 +1,46 @@
+@regression
+Feature: Test Data Generation
+  As a test author
+  I want generated test data to be unique and reproducible
+  So that parallel scenarios never collide and failures can be replayed
+
+  @testdata
+  Scenario Outline: Unique <kind> stay collision free across parallel threads
+    When 8 threads each generate 5000 unique <kind>
+    Then no generated value should be duplicated
+
+    Examples:
+      | kind      |
+      | ids       |
+      | emails    |
+      | usernames |
+
+  @performance @testdata
+  Scenario Outline: Generation rate of unique <kind> is measured
+    When 8 threads each generate 250000 <kind> without keeping them
+    Then the generation rate in million values per second should be logged
+
+    Examples:
+      | kind      |
+      | ids       |
+      | emails    |
+      | usernames |
+
+  @performance @testdata
+  Scenario: Seeded test data is reproducible
+    When I generate 50 random names with seed 42
+    And I generate 50 random names with seed 42
+    Then the generated name sequences should be identical
+
+  @performance @testdata
+  Scenario: Synthetic dataset is streamed reproducibly with referential integrity
+    When I generate a dataset of 20000 users with seed 7
+    Then every generated post should belong to a generated user
+    And generating the dataset again with seed 7 should produce identical files
+
+  @database @testdata @bulkload
+  Scenario: Synthetic dataset is bulk loaded into the database
+    When I bulk load a dataset of 5000 users with seed 7 into "dataset_users" and "dataset_posts"
+    Then the "dataset_users" table should hold every loaded user
+    And the "dataset_posts" table should hold every loaded post
+    And every row in "dataset_posts" should reference a row in "dataset_users"
@@ -13,6 +13,8 @@ Feature: User API Management
     Then the response status code should be 200
     And the response should contain a list of users
     And each user should have required fields
+    And the response should match the "user" schema
+    And the response should match the "users/all" snapshot
 
   @smoke @get
   Scenario: Get user by valid ID
@@ -21,6 +23,7 @@ Feature: User API Management
     Then the response status code should be 200
     And the response should contain user details
     And the user should have all required fields populated
+    And the response should match the "user" schema
 
   @negative @get
   Scenario: Get user by invalid ID
@@ -88,3 +91,23 @@ Feature: User API Management
     When I query the database for the user
     Then the user should exist in the database
     And the database user data should match API response data
+
+  @regression @database @validation
+  Scenario: Reconcile all API users with the users table
+    When I send a GET request to "/users"
+    Then the response status code should be 200
+    And every user returned by the API should match the "users" table on fields "name, email, username"
+
+  @regression @performance @slo
+  Scenario: User list meets its latency and throughput objectives
+    When I send 40 GET requests to "/users" with 4 concurrent clients
+    Then every response status code should be 200
+    And the p95 response time for GET /users should be below 2000 ms
+    And the mean response time for GET /users should be below 1000 ms
+    And throughput should be at least 2 requests per second
+
+  @regression @performance @slo
+  Scenario: User lookup by ID meets its latency objective
+    When I send 20 GET requests to "/users/1"
+    Then every response status code should be 200
+    And the p99 response time for GET /users/1 should be below 3000 ms